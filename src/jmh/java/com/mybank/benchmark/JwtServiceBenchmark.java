@@ -0,0 +1,65 @@
+package com.mybank.benchmark;
+
+import com.mybank.shared.security.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emisión y verificación de tokens JWT. {@code parseUncached} mide la verificación HMAC
+ * completa con la misma llave que usa el servicio; {@code parseCached} lo que paga cada
+ * request cuando el token ya está en el caché de claims.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private JwtService jwtService;
+    private JwtParser parser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3_600_000L);
+        parser = Jwts.parser().verifyWith(jwtService.getSignInKey()).build();
+        token = jwtService.generateToken("benchmark", 1L, List.of("ROLE_USER"), "ACTIVE");
+        jwtService.extractAllClaims(token);
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtService.generateToken("benchmark", 1L, List.of("ROLE_USER"), "ACTIVE");
+    }
+
+    @Benchmark
+    public Claims parseUncached() {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    @Benchmark
+    public Claims parseCached() {
+        return jwtService.extractAllClaims(token);
+    }
+}
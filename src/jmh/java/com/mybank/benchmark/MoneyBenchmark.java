@@ -0,0 +1,66 @@
+package com.mybank.benchmark;
+
+import com.mybank.domains.transaction.domain.valueobject.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construcción y aritmética de {@link Money}: se ejecutan en cada validación de fondos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoneyBenchmark {
+
+    private BigDecimal rawAmount;
+    private Money balance;
+    private Money amount;
+    private BigDecimal rate;
+
+    @Setup
+    public void setUp() {
+        rawAmount = new BigDecimal("1234.567");
+        balance = new Money(new BigDecimal("10000.00"));
+        amount = new Money(new BigDecimal("250.75"));
+        rate = new BigDecimal("0.015");
+    }
+
+    @Benchmark
+    public Money construct() {
+        return new Money(rawAmount);
+    }
+
+    @Benchmark
+    public Money add() {
+        return balance.add(amount);
+    }
+
+    @Benchmark
+    public Money subtract() {
+        return balance.subtract(amount);
+    }
+
+    @Benchmark
+    public Money multiply() {
+        return amount.multiply(rate);
+    }
+
+    @Benchmark
+    public boolean compare() {
+        return amount.isGreaterThan(balance);
+    }
+}
@@ -0,0 +1,78 @@
+package com.mybank.benchmark;
+
+import com.mybank.domains.account.domain.entity.Account;
+import com.mybank.domains.transaction.application.dto.TransactionResponse;
+import com.mybank.domains.transaction.domain.entity.Transaction;
+import com.mybank.domains.transaction.domain.entity.TransactionAudit;
+import com.mybank.domains.user.domain.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapeos que corren en cada request de transacciones: el registro de auditoría y la respuesta.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TransactionMappingBenchmark {
+
+    private Transaction transaction;
+
+    @Setup
+    public void setUp() {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("benchmark");
+        user.setEmail("benchmark@example.com");
+        user.setRoles(Set.of("ROLE_USER"));
+
+        Account account = new Account();
+        account.setId(10L);
+        account.setAccountNumber("AC123456789012345");
+        account.setAccountType(Account.AccountType.CHECKING);
+        account.setBalance(new BigDecimal("5000.00"));
+        account.setUser(user);
+
+        transaction = new Transaction();
+        transaction.setId(100L);
+        transaction.setTransactionNumber("TXN123456789012345");
+        transaction.setType(Transaction.TransactionType.WITHDRAWAL);
+        transaction.setStatus(Transaction.TransactionStatus.PENDING);
+        transaction.setAmount(new BigDecimal("250.00"));
+        transaction.setFee(new BigDecimal("1.50"));
+        transaction.setTax(new BigDecimal("0.30"));
+        transaction.setTotalAmount(new BigDecimal("251.80"));
+        transaction.setDescription("ATM withdrawal");
+        transaction.setUser(user);
+        transaction.setAccount(account);
+        transaction.setCreatedAt(LocalDateTime.now());
+        transaction.setUpdatedAt(LocalDateTime.now());
+    }
+
+    @Benchmark
+    public TransactionAudit auditFromTransaction() {
+        return TransactionAudit.fromTransaction(transaction, TransactionAudit.AuditEventType.TRANSACTION_CREATED,
+                "Transaction created successfully");
+    }
+
+    @Benchmark
+    public TransactionResponse responseFromEntity() {
+        return TransactionResponse.fromEntity(transaction);
+    }
+}
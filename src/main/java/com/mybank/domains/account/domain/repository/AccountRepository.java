@@ -6,7 +6,9 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,4 +31,39 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     List<Account> findByUserAndAccountType(@Param("userId") Long userId, @Param("accountType") Account.AccountType accountType);
     
     boolean existsByAccountNumber(String accountNumber);
+
+    /**
+     * Descuenta el monto en una sola sentencia si el balance alcanza. La condición se
+     * evalúa con la fila bloqueada, así dos débitos concurrentes nunca sobregiran la cuenta.
+     *
+     * @return el nuevo balance, o vacío si los fondos no alcanzan
+     */
+    @Transactional
+    @Query(value = "UPDATE accounts SET balance = balance - :amount, updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE id = :id AND balance >= :amount RETURNING balance", nativeQuery = true)
+    Optional<BigDecimal> debit(@Param("id") Long id, @Param("amount") BigDecimal amount);
+
+    /**
+     * Acredita el monto en una sola sentencia, sin leer el balance previo.
+     *
+     * @return el nuevo balance, o vacío si la cuenta no existe
+     */
+    @Transactional
+    @Query(value = "UPDATE accounts SET balance = balance + :amount, updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE id = :id RETURNING balance", nativeQuery = true)
+    Optional<BigDecimal> credit(@Param("id") Long id, @Param("amount") BigDecimal amount);
+
+    /**
+     * Lee el balance bloqueando la fila hasta el fin de la transacción.
+     */
+    @Query(value = "SELECT balance FROM accounts WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<BigDecimal> findBalanceForUpdate(@Param("id") Long id);
+
+    /**
+     * Aplica una variación neta (positiva o negativa) al balance en una sola sentencia.
+     */
+    @Transactional
+    @Query(value = "UPDATE accounts SET balance = balance + :delta, updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE id = :id RETURNING balance", nativeQuery = true)
+    Optional<BigDecimal> adjustBalance(@Param("id") Long id, @Param("delta") BigDecimal delta);
 } 
\ No newline at end of file
@@ -4,8 +4,11 @@ import com.mybank.domains.account.domain.entity.Account;
 import com.mybank.domains.account.domain.repository.AccountRepository;
 import com.mybank.domains.user.domain.entity.User;
 import com.mybank.shared.exception.BusinessException;
+import com.mybank.shared.exception.ConstraintViolations;
+import com.mybank.shared.id.IdGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -17,7 +20,11 @@ import java.util.Optional;
 @Slf4j
 public class AccountDomainService {
 
+    // Nombre que PostgreSQL da a la restricción UNIQUE de V1
+    private static final String ACCOUNT_NUMBER_CONSTRAINT = "accounts_account_number_key";
+
     private final AccountRepository accountRepository;
+    private final IdGenerator idGenerator;
 
     public Account createAccount(Account account) {
         log.info("Creating new account for user: {}, type: {}", account.getUser().getUsername(), account.getAccountType());
@@ -25,15 +32,18 @@ public class AccountDomainService {
         // Validar que el usuario no tenga demasiadas cuentas del mismo tipo
         validateAccountLimit(account);
         
-        // Generar número de cuenta único
-        account.setAccountNumber(generateAccountNumber());
-        
-        // Validar que el número de cuenta sea único
-        if (accountRepository.existsByAccountNumber(account.getAccountNumber())) {
+        // Generar número de cuenta único; la restricción UNIQUE cubre una configuración de nodos duplicada
+        account.setAccountNumber(idGenerator.nextNumber("AC"));
+
+        Account savedAccount;
+        try {
+            savedAccount = accountRepository.saveAndFlush(account);
+        } catch (DataIntegrityViolationException e) {
+            if (!ConstraintViolations.isUniqueViolation(e, ACCOUNT_NUMBER_CONSTRAINT)) {
+                throw e;
+            }
             throw new BusinessException("Account number already exists", "ACCOUNT_NUMBER_EXISTS", "ACCOUNT");
         }
-
-        Account savedAccount = accountRepository.save(account);
         log.info("Account created successfully: {}", savedAccount.getAccountNumber());
         
         return savedAccount;
@@ -89,11 +99,4 @@ public class AccountDomainService {
             );
         }
     }
-
-    private String generateAccountNumber() {
-        // Generar número de cuenta único: AC + timestamp + 4 dígitos aleatorios
-        long timestamp = System.currentTimeMillis();
-        int random = (int) (Math.random() * 10000);
-        return String.format("AC%d%04d", timestamp, random);
-    }
 } 
\ No newline at end of file
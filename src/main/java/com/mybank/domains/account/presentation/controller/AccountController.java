@@ -1,6 +1,7 @@
 package com.mybank.domains.account.presentation.controller;
 
 import com.mybank.shared.dto.ApiResponse;
+import com.mybank.shared.security.CurrentUserId;
 import com.mybank.domains.account.application.dto.AccountResponse;
 import com.mybank.domains.account.application.dto.CreateAccountRequest;
 import com.mybank.domains.account.application.service.AccountService;
@@ -28,8 +29,8 @@ public class AccountController {
     @Operation(summary = "Crear una nueva cuenta", description = "Crea una nueva cuenta bancaria para el usuario")
     public ResponseEntity<ApiResponse<AccountResponse>> createAccount(
             @Valid @RequestBody CreateAccountRequest request,
-            @Parameter(description = "ID del usuario que crea la cuenta") 
-            @RequestParam Long userId) {
+            @Parameter(hidden = true)
+            @CurrentUserId Long userId) {
         
         log.info("Received account creation request for user: {}, type: {}", userId, request.getAccountType());
         
@@ -47,8 +48,8 @@ public class AccountController {
     public ResponseEntity<ApiResponse<AccountResponse>> getAccountById(
             @Parameter(description = "ID de la cuenta") 
             @PathVariable Long accountId,
-            @Parameter(description = "ID del usuario") 
-            @RequestParam Long userId) {
+            @Parameter(hidden = true)
+            @CurrentUserId Long userId) {
         
         log.info("Getting account: {} for user: {}", accountId, userId);
         
@@ -83,8 +84,8 @@ public class AccountController {
     public ResponseEntity<ApiResponse<AccountResponse>> getAccountByNumber(
             @Parameter(description = "Número de cuenta") 
             @PathVariable String accountNumber,
-            @Parameter(description = "ID del usuario") 
-            @RequestParam Long userId) {
+            @Parameter(hidden = true)
+            @CurrentUserId Long userId) {
         
         log.info("Getting account by number: {} for user: {}", accountNumber, userId);
         
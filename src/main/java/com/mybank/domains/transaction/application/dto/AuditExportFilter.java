@@ -0,0 +1,40 @@
+package com.mybank.domains.transaction.application.dto;
+
+import com.mybank.domains.transaction.domain.entity.TransactionAudit;
+import com.mybank.shared.exception.BusinessException;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Criterio de una exportación de auditoría. Se debe indicar exactamente uno:
+ * rango de fechas, tipo de evento, cuenta, término de búsqueda, IP o sesión.
+ */
+@Data
+public class AuditExportFilter {
+
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private TransactionAudit.AuditEventType eventType;
+    private Long accountId;
+    private String searchTerm;
+    private String ipAddress;
+    private String sessionId;
+
+    public void validate() {
+        if ((startDate == null) != (endDate == null)) {
+            throw new BusinessException("Both startDate and endDate are required", "INVALID_EXPORT_FILTER", "TRANSACTION");
+        }
+        if (startDate != null && startDate.isAfter(endDate)) {
+            throw new BusinessException("startDate must be before endDate", "INVALID_EXPORT_FILTER", "TRANSACTION");
+        }
+
+        long filters = Stream.of(startDate, eventType, accountId, searchTerm, ipAddress, sessionId)
+                .filter(value -> value != null && !(value instanceof String text && text.isBlank()))
+                .count();
+        if (filters != 1) {
+            throw new BusinessException("Exactly one audit export filter is required", "INVALID_EXPORT_FILTER", "TRANSACTION");
+        }
+    }
+}
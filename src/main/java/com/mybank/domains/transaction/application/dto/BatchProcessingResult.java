@@ -0,0 +1,22 @@
+package com.mybank.domains.transaction.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resumen de una corrida de procesamiento por lotes de transacciones pendientes.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchProcessingResult {
+    private int chunks;
+    private int accounts;
+    private int processed;
+    private int completed;
+    private int failed;
+    private int errors;            // transacciones cuyo lote no se pudo confirmar; siguen pendientes
+    private long elapsedMs;
+    private double transactionsPerSecond;
+}
@@ -0,0 +1,16 @@
+package com.mybank.domains.transaction.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionPageResponse {
+    private List<TransactionResponse> items;
+    private String nextCursor;  // null cuando no hay más páginas
+    private boolean hasMore;
+}
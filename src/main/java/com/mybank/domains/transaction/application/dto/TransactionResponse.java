@@ -1,6 +1,7 @@
 package com.mybank.domains.transaction.application.dto;
 
 import com.mybank.domains.transaction.domain.entity.Transaction;
+import com.mybank.domains.transaction.domain.projection.TransactionSummary;
 import lombok.Data;
 
 import java.math.BigDecimal;
@@ -73,4 +74,30 @@ public class TransactionResponse {
 
         return response;
     }
-} 
\ No newline at end of file
+
+    public static TransactionResponse fromSummary(TransactionSummary summary) {
+        TransactionResponse response = new TransactionResponse();
+        response.setId(summary.getId());
+        response.setTransactionNumber(summary.getTransactionNumber());
+        response.setType(summary.getType());
+        response.setStatus(summary.getStatus());
+        response.setAmount(summary.getAmount());
+        response.setFee(summary.getFee());
+        response.setTax(summary.getTax());
+        response.setTotalAmount(summary.getTotalAmount());
+        response.setDescription(summary.getDescription());
+        response.setNotes(summary.getNotes());
+        response.setUserId(summary.getUserId());
+        response.setUserUsername(summary.getUserUsername());
+        response.setAccountId(summary.getAccountId());
+        response.setAccountNumber(summary.getAccountNumber());
+        response.setSourceAccountId(summary.getSourceAccountId());
+        response.setSourceAccountNumber(summary.getSourceAccountNumber());
+        response.setDestinationAccountId(summary.getDestinationAccountId());
+        response.setDestinationAccountNumber(summary.getDestinationAccountNumber());
+        response.setCreatedAt(summary.getCreatedAt());
+        response.setUpdatedAt(summary.getUpdatedAt());
+        response.setProcessedAt(summary.getProcessedAt());
+        return response;
+    }
+}
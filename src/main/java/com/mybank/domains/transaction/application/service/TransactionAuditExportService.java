@@ -0,0 +1,83 @@
+package com.mybank.domains.transaction.application.service;
+
+import com.mybank.domains.transaction.application.dto.AuditExportFilter;
+import com.mybank.domains.transaction.application.dto.TransactionAuditResponse;
+import com.mybank.domains.transaction.domain.entity.TransactionAudit;
+import com.mybank.domains.transaction.domain.service.TransactionAuditService;
+import com.mybank.shared.export.ExportColumn;
+import com.mybank.shared.export.ExportFormat;
+import com.mybank.shared.export.StreamingExporter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Exporta registros de auditoría en streaming, sin cargar el resultado completo en memoria.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionAuditExportService {
+
+    static final List<ExportColumn<TransactionAuditResponse>> CSV_COLUMNS = List.of(
+            new ExportColumn<>("id", TransactionAuditResponse::getId),
+            new ExportColumn<>("transactionId", TransactionAuditResponse::getTransactionId),
+            new ExportColumn<>("transactionNumber", TransactionAuditResponse::getTransactionNumber),
+            new ExportColumn<>("auditEventType", TransactionAuditResponse::getAuditEventType),
+            new ExportColumn<>("previousStatus", TransactionAuditResponse::getPreviousStatus),
+            new ExportColumn<>("newStatus", TransactionAuditResponse::getNewStatus),
+            new ExportColumn<>("transactionType", TransactionAuditResponse::getTransactionType),
+            new ExportColumn<>("amount", TransactionAuditResponse::getAmount),
+            new ExportColumn<>("totalAmount", TransactionAuditResponse::getTotalAmount),
+            new ExportColumn<>("userId", TransactionAuditResponse::getUserId),
+            new ExportColumn<>("userUsername", TransactionAuditResponse::getUserUsername),
+            new ExportColumn<>("accountNumber", TransactionAuditResponse::getAccountNumber),
+            new ExportColumn<>("sourceAccountNumber", TransactionAuditResponse::getSourceAccountNumber),
+            new ExportColumn<>("destinationAccountNumber", TransactionAuditResponse::getDestinationAccountNumber),
+            new ExportColumn<>("eventDescription", TransactionAuditResponse::getEventDescription),
+            new ExportColumn<>("ipAddress", TransactionAuditResponse::getIpAddress),
+            new ExportColumn<>("sessionId", TransactionAuditResponse::getSessionId),
+            new ExportColumn<>("createdAt", TransactionAuditResponse::getCreatedAt)
+    );
+
+    private final TransactionAuditService transactionAuditService;
+    private final StreamingExporter streamingExporter;
+
+    /**
+     * @return cantidad de registros exportados
+     */
+    @Transactional(readOnly = true)
+    public long export(AuditExportFilter filter, ExportFormat format, OutputStream out) {
+        log.info("Exporting audit history as {} with filter {}", format, filter);
+
+        try (Stream<TransactionAudit> audits = openStream(filter)) {
+            return streamingExporter.write(audits.map(TransactionAuditResponse::fromEntity), format, CSV_COLUMNS, out);
+        }
+    }
+
+    private Stream<TransactionAudit> openStream(AuditExportFilter filter) {
+        filter.validate();
+
+        if (filter.getStartDate() != null) {
+            return transactionAuditService.streamAuditHistoryByDateRange(filter.getStartDate(), filter.getEndDate());
+        }
+        if (filter.getEventType() != null) {
+            return transactionAuditService.streamAuditHistoryByEventType(filter.getEventType());
+        }
+        if (filter.getAccountId() != null) {
+            return transactionAuditService.streamAccountAuditHistory(filter.getAccountId());
+        }
+        if (filter.getSearchTerm() != null && !filter.getSearchTerm().isBlank()) {
+            return transactionAuditService.streamSearchAuditHistory(filter.getSearchTerm());
+        }
+        if (filter.getIpAddress() != null && !filter.getIpAddress().isBlank()) {
+            return transactionAuditService.streamAuditHistoryByIpAddress(filter.getIpAddress());
+        }
+        return transactionAuditService.streamAuditHistoryBySessionId(filter.getSessionId());
+    }
+}
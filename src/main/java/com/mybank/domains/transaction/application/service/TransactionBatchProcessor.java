@@ -0,0 +1,135 @@
+package com.mybank.domains.transaction.application.service;
+
+import com.mybank.domains.transaction.application.dto.BatchProcessingResult;
+import com.mybank.domains.transaction.domain.entity.Transaction;
+import com.mybank.domains.transaction.domain.projection.PendingTransactionRef;
+import com.mybank.domains.transaction.domain.service.TransactionDomainService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Procesa las transacciones pendientes por lotes. Cada bloque de {@code chunk-size}
+ * pendientes se agrupa por cuenta; cada grupo se procesa en una sola transacción de base
+ * de datos (un UPDATE de balance por cuenta y la auditoría en bloque) sobre el carril de
+ * su cuenta, así no compite con el procesamiento individual. Hasta {@code parallelism}
+ * grupos corren a la vez.
+ */
+@Component
+@Slf4j
+public class TransactionBatchProcessor {
+
+    private final TransactionDomainService transactionDomainService;
+    private final TransactionProcessingEngine transactionProcessingEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int parallelism;
+
+    public TransactionBatchProcessor(
+            TransactionDomainService transactionDomainService,
+            TransactionProcessingEngine transactionProcessingEngine,
+            PlatformTransactionManager transactionManager,
+            @Value("${mybank.processing.batch.chunk-size:500}") int chunkSize,
+            @Value("${mybank.processing.batch.parallelism:8}") int parallelism) {
+        this.transactionDomainService = transactionDomainService;
+        this.transactionProcessingEngine = transactionProcessingEngine;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Procesa las transacciones pendientes hasta agotarlas o hasta {@code maxTransactions}.
+     *
+     * @param maxTransactions tope de transacciones a leer en esta corrida, o {@code null} sin tope
+     */
+    public BatchProcessingResult processPending(Integer maxTransactions) {
+        long start = System.nanoTime();
+        BatchProcessingResult result = new BatchProcessingResult();
+        long afterId = 0L;
+        int read = 0;
+
+        try (ExecutorService workers = Executors.newFixedThreadPool(parallelism,
+                Thread.ofVirtual().name("batch-worker-", 0).factory())) {
+            while (true) {
+                int limit = maxTransactions == null ? chunkSize : Math.min(chunkSize, maxTransactions - read);
+                if (limit <= 0) {
+                    break;
+                }
+                List<PendingTransactionRef> chunk = transactionDomainService.findPendingChunk(afterId, limit);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                read += chunk.size();
+                afterId = chunk.get(chunk.size() - 1).getId();
+
+                processChunk(chunk, workers, result);
+            }
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        result.setElapsedMs(elapsedNanos / 1_000_000);
+        result.setTransactionsPerSecond(elapsedNanos == 0 ? 0 : result.getProcessed() / (elapsedNanos / 1_000_000_000.0));
+        log.info("Batch processing finished: {} chunks, {} accounts, {} processed ({} completed, {} failed, {} errors) in {} ms ({} tx/s)",
+                result.getChunks(), result.getAccounts(), result.getProcessed(), result.getCompleted(),
+                result.getFailed(), result.getErrors(), result.getElapsedMs(),
+                String.format("%.1f", result.getTransactionsPerSecond()));
+        return result;
+    }
+
+    private void processChunk(List<PendingTransactionRef> chunk, ExecutorService workers, BatchProcessingResult result) {
+        // El orden por cuenta se conserva: el lote se ordena por id y las transacciones se releen por fecha
+        Map<Long, List<Long>> byAccount = new LinkedHashMap<>();
+        for (PendingTransactionRef ref : chunk) {
+            byAccount.computeIfAbsent(ref.getAccountId(), accountId -> new ArrayList<>()).add(ref.getId());
+        }
+
+        List<CompletableFuture<List<Transaction>>> futures = new ArrayList<>(byAccount.size());
+        List<Integer> groupSizes = new ArrayList<>(byAccount.size());
+        for (Map.Entry<Long, List<Long>> group : byAccount.entrySet()) {
+            Long accountId = group.getKey();
+            List<Long> ids = group.getValue();
+            groupSizes.add(ids.size());
+            futures.add(CompletableFuture.supplyAsync(() -> processGroup(accountId, ids), workers));
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                for (Transaction transaction : futures.get(i).join()) {
+                    result.setProcessed(result.getProcessed() + 1);
+                    if (transaction.getStatus() == Transaction.TransactionStatus.COMPLETED) {
+                        result.setCompleted(result.getCompleted() + 1);
+                    } else {
+                        result.setFailed(result.getFailed() + 1);
+                    }
+                }
+            } catch (RuntimeException e) {
+                // El grupo se revirtió completo; sus transacciones quedan pendientes para otra corrida
+                result.setErrors(result.getErrors() + groupSizes.get(i));
+                log.error("Batch group failed: {}", e.getMessage(), e);
+            }
+        }
+
+        result.setChunks(result.getChunks() + 1);
+        result.setAccounts(result.getAccounts() + byAccount.size());
+        log.debug("Batch chunk of {} transactions over {} accounts done", chunk.size(), byAccount.size());
+    }
+
+    private List<Transaction> processGroup(Long accountId, List<Long> ids) {
+        if (accountId == null) {
+            return transactionTemplate.execute(status -> transactionDomainService.processAccountBatch(null, ids));
+        }
+        return transactionProcessingEngine.executeOnAccountLane(accountId,
+                () -> transactionTemplate.execute(status -> transactionDomainService.processAccountBatch(accountId, ids)));
+    }
+}
@@ -0,0 +1,70 @@
+package com.mybank.domains.transaction.application.service;
+
+import com.mybank.domains.transaction.application.dto.TransactionResponse;
+import com.mybank.domains.transaction.domain.projection.TransactionSummary;
+import com.mybank.domains.transaction.domain.service.TransactionDomainService;
+import com.mybank.shared.export.ExportColumn;
+import com.mybank.shared.export.ExportFormat;
+import com.mybank.shared.export.StreamingExporter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Exporta el historial completo de transacciones leyendo con un cursor del servidor.
+ * Las filas son proyecciones, no entidades administradas, así que el contexto de
+ * persistencia no crece mientras se recorre el resultado.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionExportService {
+
+    static final List<ExportColumn<TransactionResponse>> CSV_COLUMNS = List.of(
+            new ExportColumn<>("id", TransactionResponse::getId),
+            new ExportColumn<>("transactionNumber", TransactionResponse::getTransactionNumber),
+            new ExportColumn<>("type", TransactionResponse::getType),
+            new ExportColumn<>("status", TransactionResponse::getStatus),
+            new ExportColumn<>("amount", TransactionResponse::getAmount),
+            new ExportColumn<>("fee", TransactionResponse::getFee),
+            new ExportColumn<>("tax", TransactionResponse::getTax),
+            new ExportColumn<>("totalAmount", TransactionResponse::getTotalAmount),
+            new ExportColumn<>("description", TransactionResponse::getDescription),
+            new ExportColumn<>("userId", TransactionResponse::getUserId),
+            new ExportColumn<>("accountNumber", TransactionResponse::getAccountNumber),
+            new ExportColumn<>("sourceAccountNumber", TransactionResponse::getSourceAccountNumber),
+            new ExportColumn<>("destinationAccountNumber", TransactionResponse::getDestinationAccountNumber),
+            new ExportColumn<>("createdAt", TransactionResponse::getCreatedAt),
+            new ExportColumn<>("processedAt", TransactionResponse::getProcessedAt)
+    );
+
+    private final TransactionDomainService transactionDomainService;
+    private final StreamingExporter streamingExporter;
+
+    @Transactional(readOnly = true)
+    public long exportByUserId(Long userId, ExportFormat format, OutputStream out) {
+        log.info("Exporting transactions for user: {} as {}", userId, format);
+
+        try (Stream<TransactionSummary> rows = transactionDomainService.streamByUserId(userId)) {
+            return write(rows, format, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportByAccountId(Long accountId, ExportFormat format, OutputStream out) {
+        log.info("Exporting transactions for account: {} as {}", accountId, format);
+
+        try (Stream<TransactionSummary> rows = transactionDomainService.streamByAccountId(accountId)) {
+            return write(rows, format, out);
+        }
+    }
+
+    private long write(Stream<TransactionSummary> rows, ExportFormat format, OutputStream out) {
+        return streamingExporter.write(rows.map(TransactionResponse::fromSummary), format, CSV_COLUMNS, out);
+    }
+}
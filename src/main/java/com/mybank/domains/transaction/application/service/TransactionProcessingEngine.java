@@ -0,0 +1,62 @@
+package com.mybank.domains.transaction.application.service;
+
+import com.mybank.domains.transaction.application.dto.TransactionResponse;
+import com.mybank.domains.transaction.domain.service.TransactionDomainService;
+import com.mybank.shared.concurrency.StripedExecutor;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Motor de procesamiento de transacciones. Cada cuenta se asigna a un carril de un solo
+ * hilo, de modo que las transacciones de una misma cuenta se procesan en serie y en
+ * orden de llegada, sin competir por el bloqueo de la fila en PostgreSQL, mientras que
+ * cuentas de carriles distintos se procesan en paralelo.
+ * <p>
+ * El carril envuelve toda la transacción de base de datos: se toma antes de abrirla y
+ * se libera después del commit. La serialización es local a cada instancia; entre
+ * instancias sigue protegiendo el UPDATE atómico del balance.
+ */
+@Component
+@Slf4j
+public class TransactionProcessingEngine {
+
+    private final TransactionService transactionService;
+    private final TransactionDomainService transactionDomainService;
+    private final StripedExecutor lanes;
+
+    public TransactionProcessingEngine(
+            TransactionService transactionService,
+            TransactionDomainService transactionDomainService,
+            @Value("${mybank.processing.lanes:16}") int laneCount,
+            @Value("${mybank.processing.lane-timeout-ms:30000}") long laneTimeoutMs) {
+        this.transactionService = transactionService;
+        this.transactionDomainService = transactionDomainService;
+        this.lanes = new StripedExecutor("account", laneCount, Duration.ofMillis(laneTimeoutMs));
+    }
+
+    public TransactionResponse process(Long transactionId) {
+        // Sin cuenta (o si la transacción no existe) se usa el propio id como llave;
+        // el procesamiento reporta el error correspondiente
+        long key = transactionDomainService.findAccountIdById(transactionId).orElse(transactionId);
+        log.debug("Dispatching transaction {} to lane {}", transactionId, lanes.laneOf(key));
+
+        return lanes.execute(key, () -> transactionService.processTransaction(transactionId));
+    }
+
+    /**
+     * Ejecuta una tarea en el carril de la cuenta, serializada con el resto de su procesamiento.
+     */
+    public <T> T executeOnAccountLane(long accountId, Supplier<T> task) {
+        return lanes.execute(accountId, task);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lanes.close();
+    }
+}
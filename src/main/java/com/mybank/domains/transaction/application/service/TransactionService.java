@@ -3,12 +3,17 @@ package com.mybank.domains.transaction.application.service;
 import com.mybank.domains.account.domain.entity.Account;
 import com.mybank.domains.account.domain.repository.AccountRepository;
 import com.mybank.domains.transaction.application.dto.CreateTransactionRequest;
+import com.mybank.domains.transaction.application.dto.TransactionPageResponse;
 import com.mybank.domains.transaction.application.dto.TransactionResponse;
 import com.mybank.domains.transaction.domain.entity.Transaction;
+import com.mybank.domains.transaction.domain.projection.TransactionSummary;
 import com.mybank.domains.transaction.domain.service.TransactionDomainService;
+import com.mybank.domains.transaction.domain.valueobject.TransactionCursor;
 import com.mybank.domains.user.domain.entity.User;
 import com.mybank.domains.user.domain.repository.UserRepository;
 import com.mybank.shared.exception.BusinessException;
+import com.mybank.shared.exception.InsufficientFundsException;
+import com.mybank.shared.idempotency.IdempotencyStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -24,10 +29,31 @@ import java.util.stream.Collectors;
 @Transactional
 public class TransactionService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final String CREATE_IDEMPOTENCY_SCOPE = "transaction.create";
+
     private final TransactionDomainService transactionDomainService;
     private final UserRepository userRepository;
     private final AccountRepository accountRepository;
+    private final IdempotencyStore idempotencyStore;
+
+    /**
+     * Crea la transacción una sola vez por clave de idempotencia: una repetición con la misma
+     * clave devuelve la respuesta original sin volver a validar ni insertar. Un rechazo por
+     * fondos insuficientes también queda confirmado, así que se repite el mismo error.
+     */
+    @Transactional(noRollbackFor = InsufficientFundsException.class)
+    public TransactionResponse createTransaction(CreateTransactionRequest request, Long userId, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return createTransaction(request, userId);
+        }
+        return idempotencyStore.execute(CREATE_IDEMPOTENCY_SCOPE, userId, idempotencyKey, request,
+                TransactionResponse.class, InsufficientFundsException.class, () -> createTransaction(request, userId));
+    }
 
+    // Un rechazo por fondos insuficientes se confirma: la transacción queda registrada como FAILED
+    @Transactional(noRollbackFor = InsufficientFundsException.class)
     public TransactionResponse createTransaction(CreateTransactionRequest request, Long userId) {
         log.info("Creating transaction for user: {}, type: {}, amount: {}", userId, request.getType(), request.getAmount());
 
@@ -92,46 +118,82 @@ public class TransactionService {
         return TransactionResponse.fromEntity(transaction);
     }
 
-    public List<TransactionResponse> getTransactionsByUserId(Long userId) {
+    @Transactional(readOnly = true)
+    public TransactionPageResponse getTransactionsByUserId(Long userId, String cursor, int limit) {
         log.info("Getting transactions for user: {}", userId);
 
-        List<Transaction> transactions = transactionDomainService.findByUserId(userId);
+        int pageSize = pageSize(limit);
+        List<TransactionSummary> transactions = transactionDomainService.findPageByUserId(
+                userId, decodeCursor(cursor), pageSize + 1);
 
-        return transactions.stream()
-                .map(TransactionResponse::fromEntity)
-                .collect(Collectors.toList());
+        return toPage(transactions, pageSize);
     }
 
-    public List<TransactionResponse> getTransactionsByAccountId(Long accountId) {
+    @Transactional(readOnly = true)
+    public TransactionPageResponse getTransactionsByAccountId(Long accountId, String cursor, int limit) {
         log.info("Getting transactions for account: {}", accountId);
 
-        List<Transaction> transactions = transactionDomainService.findByAccountId(accountId);
+        int pageSize = pageSize(limit);
+        List<TransactionSummary> transactions = transactionDomainService.findPageByAccountId(
+                accountId, decodeCursor(cursor), pageSize + 1);
 
-        return transactions.stream()
-                .map(TransactionResponse::fromEntity)
-                .collect(Collectors.toList());
+        return toPage(transactions, pageSize);
     }
 
-    public List<TransactionResponse> getTransactionsByUserIdAndDateRange(Long userId, LocalDateTime startDate, LocalDateTime endDate) {
+    @Transactional(readOnly = true)
+    public TransactionPageResponse getTransactionsByUserIdAndDateRange(Long userId, LocalDateTime startDate,
+                                                                       LocalDateTime endDate, String cursor, int limit) {
         log.info("Getting transactions for user: {} between {} and {}", userId, startDate, endDate);
 
-        List<Transaction> transactions = transactionDomainService.findByUserIdAndDateRange(userId, startDate, endDate);
+        int pageSize = pageSize(limit);
+        List<TransactionSummary> transactions = transactionDomainService.findPageByUserIdAndDateRange(
+                userId, startDate, endDate, decodeCursor(cursor), pageSize + 1);
 
-        return transactions.stream()
-                .map(TransactionResponse::fromEntity)
-                .collect(Collectors.toList());
+        return toPage(transactions, pageSize);
     }
 
+    @Transactional(readOnly = true)
     public List<TransactionResponse> getPendingTransactions() {
         log.info("Getting all pending transactions");
 
-        List<Transaction> transactions = transactionDomainService.findPendingTransactions();
+        List<TransactionSummary> transactions = transactionDomainService.findPendingSummaries();
 
         return transactions.stream()
-                .map(TransactionResponse::fromEntity)
+                .map(TransactionResponse::fromSummary)
                 .collect(Collectors.toList());
     }
 
+    private static int pageSize(int limit) {
+        if (limit <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    private static TransactionCursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return TransactionCursor.START;
+        }
+        try {
+            return TransactionCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Invalid pagination cursor", "INVALID_CURSOR", "TRANSACTION");
+        }
+    }
+
+    // Se consulta un elemento extra para saber si hay otra página sin ejecutar un COUNT
+    private static TransactionPageResponse toPage(List<TransactionSummary> transactions, int pageSize) {
+        boolean hasMore = transactions.size() > pageSize;
+        List<TransactionSummary> page = hasMore ? transactions.subList(0, pageSize) : transactions;
+
+        List<TransactionResponse> items = page.stream()
+                .map(TransactionResponse::fromSummary)
+                .collect(Collectors.toList());
+        String nextCursor = hasMore ? TransactionCursor.after(page.get(page.size() - 1)).encode() : null;
+
+        return new TransactionPageResponse(items, nextCursor, hasMore);
+    }
+
     private void configureTransactionAccounts(Transaction transaction, CreateTransactionRequest request) {
         switch (request.getType()) {
             case DEPOSIT:
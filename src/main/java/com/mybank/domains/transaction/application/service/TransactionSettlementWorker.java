@@ -0,0 +1,233 @@
+package com.mybank.domains.transaction.application.service;
+
+import com.mybank.domains.transaction.domain.entity.Transaction;
+import com.mybank.domains.transaction.domain.projection.PendingTransactionRef;
+import com.mybank.domains.transaction.domain.service.TransactionDomainService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Worker de liquidación en segundo plano. Cada hilo del pool, cada {@code poll-interval-ms}:
+ * <ol>
+ *   <li>reclama hasta {@code max-batch} transacciones pendientes con
+ *       {@code FOR UPDATE SKIP LOCKED} y las pasa a {@code PROCESSING} (transacción corta),</li>
+ *   <li>las liquida agrupadas por cuenta sobre el carril de la cuenta, una transacción
+ *       de base de datos por grupo,</li>
+ *   <li>repite mientras la cola entregue lotes completos.</li>
+ * </ol>
+ * Varias instancias pueden drenar la cola a la vez: una fila reclamada por otra se salta
+ * en lugar de esperar su bloqueo. Las transacciones reclamadas que no se liquidan antes de
+ * {@code claim-timeout-ms} vuelven a {@code PENDING}.
+ */
+@Component
+@Slf4j
+public class TransactionSettlementWorker {
+
+    private final TransactionDomainService transactionDomainService;
+    private final TransactionProcessingEngine transactionProcessingEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int poolSize;
+    private final long pollIntervalMs;
+    private final int maxBatch;
+    private final long claimTimeoutMs;
+    private final boolean virtualThreads;
+
+    private final AtomicLong oldestPendingAgeMs = new AtomicLong();
+    private final Counter claimedCounter;
+    private final Counter completedCounter;
+    private final Counter failedCounter;
+    private final Counter releasedCounter;
+    private final Timer batchTimer;
+    private final Timer lagTimer;
+
+    private volatile boolean running;
+    private ScheduledExecutorService scheduler;
+
+    public TransactionSettlementWorker(TransactionDomainService transactionDomainService,
+                                       TransactionProcessingEngine transactionProcessingEngine,
+                                       PlatformTransactionManager transactionManager,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${mybank.settlement.enabled:false}") boolean enabled,
+                                       @Value("${mybank.settlement.pool-size:2}") int poolSize,
+                                       @Value("${mybank.settlement.poll-interval-ms:1000}") long pollIntervalMs,
+                                       @Value("${mybank.settlement.max-batch:100}") int maxBatch,
+                                       @Value("${mybank.settlement.claim-timeout-ms:300000}") long claimTimeoutMs,
+                                       @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.transactionDomainService = transactionDomainService;
+        this.transactionProcessingEngine = transactionProcessingEngine;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.poolSize = poolSize;
+        this.pollIntervalMs = pollIntervalMs;
+        this.maxBatch = maxBatch;
+        this.claimTimeoutMs = claimTimeoutMs;
+        this.virtualThreads = virtualThreads;
+
+        TimeGauge.builder("mybank.settlement.oldest.pending.age", oldestPendingAgeMs, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Antigüedad de la transacción pendiente más vieja")
+                .register(meterRegistry);
+        this.claimedCounter = Counter.builder("mybank.settlement.claimed")
+                .description("Transacciones reclamadas por el worker de liquidación")
+                .register(meterRegistry);
+        this.completedCounter = Counter.builder("mybank.settlement.settled")
+                .tag("outcome", "completed")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("mybank.settlement.settled")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+        this.releasedCounter = Counter.builder("mybank.settlement.released")
+                .description("Reclamos vencidos devueltos a la cola")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("mybank.settlement.batch")
+                .description("Duración de un ciclo de reclamo y liquidación")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("mybank.settlement.lag")
+                .description("Tiempo desde la creación de la transacción hasta su liquidación")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        // Los ciclos pasan casi todo el tiempo esperando a la base: en modo virtual no ocupan hilos de plataforma
+        scheduler = Executors.newScheduledThreadPool(poolSize + 1, virtualThreads
+                ? Thread.ofVirtual().name("settlement-worker-", 0).factory()
+                : Thread.ofPlatform().name("settlement-worker-", 0).daemon().factory());
+        for (int i = 0; i < poolSize; i++) {
+            scheduler.scheduleWithFixedDelay(this::drain, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+        }
+        scheduler.scheduleWithFixedDelay(this::maintain, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Settlement worker started (poolSize={}, pollIntervalMs={}, maxBatch={}, virtualThreads={})",
+                poolSize, pollIntervalMs, maxBatch, virtualThreads);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        scheduler.shutdown();
+        if (!scheduler.awaitTermination(30, TimeUnit.SECONDS)) {
+            scheduler.shutdownNow();
+        }
+        log.info("Settlement worker stopped");
+    }
+
+    /**
+     * Reclama y liquida lotes hasta que la cola entregue un lote incompleto.
+     *
+     * @return transacciones reclamadas en esta corrida
+     */
+    public int drain() {
+        int total = 0;
+        try {
+            int claimed;
+            do {
+                claimed = settleNextBatch();
+                total += claimed;
+            } while (claimed == maxBatch && !Thread.currentThread().isInterrupted());
+        } catch (RuntimeException e) {
+            // Una excepción no debe cancelar la tarea programada
+            log.error("Settlement cycle failed: {}", e.getMessage(), e);
+        }
+        return total;
+    }
+
+    int settleNextBatch() {
+        long start = System.nanoTime();
+        List<PendingTransactionRef> claimed = transactionTemplate.execute(status -> transactionDomainService.claimPending(maxBatch));
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+        claimedCounter.increment(claimed.size());
+
+        Map<Long, List<PendingTransactionRef>> byAccount = new LinkedHashMap<>();
+        for (PendingTransactionRef ref : claimed) {
+            byAccount.computeIfAbsent(ref.getAccountId(), accountId -> new ArrayList<>()).add(ref);
+        }
+        for (Map.Entry<Long, List<PendingTransactionRef>> group : byAccount.entrySet()) {
+            settleGroup(group.getKey(), group.getValue());
+        }
+
+        batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        log.debug("Settled {} claimed transactions over {} accounts", claimed.size(), byAccount.size());
+        return claimed.size();
+    }
+
+    private void settleGroup(Long accountId, List<PendingTransactionRef> refs) {
+        List<Long> ids = refs.stream().map(PendingTransactionRef::getId).toList();
+        List<Transaction> settled;
+        try {
+            if (accountId == null) {
+                settled = transactionTemplate.execute(status -> transactionDomainService.settleClaimedBatch(null, ids));
+            } else {
+                settled = transactionProcessingEngine.executeOnAccountLane(accountId,
+                        () -> transactionTemplate.execute(status -> transactionDomainService.settleClaimedBatch(accountId, ids)));
+            }
+        } catch (RuntimeException e) {
+            // Quedan en PROCESSING; vuelven a la cola cuando vence el reclamo
+            log.error("Failed to settle {} transactions for account {}: {}", ids.size(), accountId, e.getMessage());
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Transaction transaction : settled) {
+            if (transaction.getStatus() == Transaction.TransactionStatus.COMPLETED) {
+                completedCounter.increment();
+            } else {
+                failedCounter.increment();
+            }
+        }
+        for (PendingTransactionRef ref : refs) {
+            if (ref.getCreatedAt() != null) {
+                lagTimer.record(Duration.between(ref.getCreatedAt(), now));
+            }
+        }
+    }
+
+    /**
+     * Devuelve a la cola los reclamos vencidos y actualiza la antigüedad del pendiente más viejo.
+     */
+    public void maintain() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            Integer released = transactionTemplate.execute(status ->
+                    transactionDomainService.releaseStaleClaims(now.minus(Duration.ofMillis(claimTimeoutMs))));
+            if (released != null && released > 0) {
+                releasedCounter.increment(released);
+                log.warn("Released {} stale settlement claims back to PENDING", released);
+            }
+
+            oldestPendingAgeMs.set(transactionDomainService.findOldestPendingCreatedAt()
+                    .map(createdAt -> Math.max(0, Duration.between(createdAt, now).toMillis()))
+                    .orElse(0L));
+        } catch (RuntimeException e) {
+            log.error("Settlement maintenance failed: {}", e.getMessage(), e);
+        }
+    }
+}
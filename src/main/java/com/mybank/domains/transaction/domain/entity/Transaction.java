@@ -22,7 +22,8 @@ import java.time.LocalDateTime;
 public class Transaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_id_seq")
+    @SequenceGenerator(name = "transactions_id_seq", sequenceName = "transactions_id_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -93,9 +94,6 @@ public class Transaction {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
-        if (transactionNumber == null) {
-            transactionNumber = generateTransactionNumber();
-        }
         if (totalAmount == null) {
             totalAmount = amount.add(fee).add(tax);
         }
@@ -106,10 +104,6 @@ public class Transaction {
         updatedAt = LocalDateTime.now();
     }
 
-    private String generateTransactionNumber() {
-        return "TXN" + System.currentTimeMillis() + String.format("%04d", (int) (Math.random() * 10000));
-    }
-
     public enum TransactionType {
         DEPOSIT,           // Depósito
         WITHDRAWAL,        // Retiro
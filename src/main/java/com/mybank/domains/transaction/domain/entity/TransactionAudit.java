@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 public class TransactionAudit {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_audit_logs_id_seq")
+    @SequenceGenerator(name = "transaction_audit_logs_id_seq", sequenceName = "transaction_audit_logs_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "transaction_id", nullable = false)
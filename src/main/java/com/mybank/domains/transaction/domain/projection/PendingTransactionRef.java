@@ -0,0 +1,17 @@
+package com.mybank.domains.transaction.domain.projection;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Referencia mínima a una transacción pendiente: lo justo para repartirla por cuenta
+ * en el procesamiento por lotes, sin cargar la entidad.
+ */
+@Value
+public class PendingTransactionRef {
+
+    Long id;
+    Long accountId;
+    LocalDateTime createdAt;
+}
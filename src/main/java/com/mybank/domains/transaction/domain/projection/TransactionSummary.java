@@ -0,0 +1,50 @@
+package com.mybank.domains.transaction.domain.projection;
+
+import com.mybank.domains.transaction.domain.entity.Transaction;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Vista de solo lectura de una transacción para los listados. Se arma con una
+ * expresión constructora en una única consulta, con los datos de usuario y
+ * cuentas ya resueltos, sin cargar entidades ni relaciones lazy.
+ */
+@Value
+public class TransactionSummary {
+
+    /**
+     * Columnas de la expresión constructora, en el orden de los campos.
+     * Se espera el alias {@code t} para la transacción y {@code u}, {@code a}, {@code sa}, {@code da}
+     * para usuario, cuenta, cuenta origen y cuenta destino.
+     */
+    public static final String SELECT = "SELECT new com.mybank.domains.transaction.domain.projection.TransactionSummary(" +
+            "t.id, t.transactionNumber, t.type, t.status, t.amount, t.fee, t.tax, t.totalAmount, " +
+            "t.description, t.notes, u.id, u.username, a.id, a.accountNumber, sa.id, sa.accountNumber, " +
+            "da.id, da.accountNumber, t.createdAt, t.updatedAt, t.processedAt) " +
+            "FROM Transaction t JOIN t.user u LEFT JOIN t.account a " +
+            "LEFT JOIN t.sourceAccount sa LEFT JOIN t.destinationAccount da ";
+
+    Long id;
+    String transactionNumber;
+    Transaction.TransactionType type;
+    Transaction.TransactionStatus status;
+    BigDecimal amount;
+    BigDecimal fee;
+    BigDecimal tax;
+    BigDecimal totalAmount;
+    String description;
+    String notes;
+    Long userId;
+    String userUsername;
+    Long accountId;
+    String accountNumber;
+    Long sourceAccountId;
+    String sourceAccountNumber;
+    Long destinationAccountId;
+    String destinationAccountNumber;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+    LocalDateTime processedAt;
+}
@@ -1,15 +1,19 @@
 package com.mybank.domains.transaction.domain.repository;
 
 import com.mybank.domains.transaction.domain.entity.TransactionAudit;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionAuditRepository extends JpaRepository<TransactionAudit, Long> {
@@ -89,4 +93,49 @@ public interface TransactionAuditRepository extends JpaRepository<TransactionAud
 
     // Buscar auditoría por session ID
     List<TransactionAudit> findBySessionIdOrderByCreatedAtDesc(String sessionId);
-} 
\ No newline at end of file
+
+    // Exportación en streaming: cursor del servidor con fetch size acotado, en orden cronológico.
+    // Los Stream deben consumirse dentro de una transacción y cerrarse al terminar
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT ta FROM TransactionAudit ta WHERE ta.createdAt BETWEEN :startDate AND :endDate ORDER BY ta.createdAt, ta.id")
+    Stream<TransactionAudit> streamByDateRange(@Param("startDate") LocalDateTime startDate,
+                                               @Param("endDate") LocalDateTime endDate);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT ta FROM TransactionAudit ta WHERE ta.eventType = :eventType ORDER BY ta.createdAt, ta.id")
+    Stream<TransactionAudit> streamByEventType(@Param("eventType") TransactionAudit.AuditEventType eventType);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT ta FROM TransactionAudit ta WHERE ta.accountId = :accountId OR ta.sourceAccountId = :accountId OR ta.destinationAccountId = :accountId ORDER BY ta.createdAt, ta.id")
+    Stream<TransactionAudit> streamByAccountId(@Param("accountId") Long accountId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT ta FROM TransactionAudit ta WHERE ta.eventDescription LIKE %:searchTerm% ORDER BY ta.createdAt, ta.id")
+    Stream<TransactionAudit> streamByEventDescriptionContaining(@Param("searchTerm") String searchTerm);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT ta FROM TransactionAudit ta WHERE ta.ipAddress = :ipAddress ORDER BY ta.createdAt, ta.id")
+    Stream<TransactionAudit> streamByIpAddress(@Param("ipAddress") String ipAddress);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT ta FROM TransactionAudit ta WHERE ta.sessionId = :sessionId ORDER BY ta.createdAt, ta.id")
+    Stream<TransactionAudit> streamBySessionId(@Param("sessionId") String sessionId);
+}
@@ -0,0 +1,27 @@
+package com.mybank.domains.transaction.domain.repository;
+
+import com.mybank.domains.transaction.domain.entity.TransactionAudit;
+
+import java.util.List;
+
+/**
+ * Puerto de escritura de registros de auditoría.
+ * La implementación decide si el registro se persiste de inmediato,
+ * al confirmar la transacción o de forma asíncrona por lotes.
+ */
+public interface TransactionAuditWriter {
+
+    /**
+     * Entrega un registro de auditoría para su persistencia.
+     * En modos diferidos el registro retornado aún no tiene ID asignado.
+     */
+    TransactionAudit write(TransactionAudit audit);
+
+    /**
+     * Entrega varios registros a la vez. Las implementaciones pueden escribirlos
+     * en un solo lote.
+     */
+    default void writeAll(List<TransactionAudit> audits) {
+        audits.forEach(this::write);
+    }
+}
@@ -1,14 +1,21 @@
 package com.mybank.domains.transaction.domain.repository;
 
 import com.mybank.domains.transaction.domain.entity.Transaction;
+import com.mybank.domains.transaction.domain.projection.PendingTransactionRef;
+import com.mybank.domains.transaction.domain.projection.TransactionSummary;
+import com.mybank.domains.transaction.domain.valueobject.TransactionCursor;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TransactionRepository {
 
     Transaction save(Transaction transaction);
+
+    // Envía los cambios pendientes: las violaciones de restricciones se reportan aquí y no al confirmar
+    void flush();
     
     Optional<Transaction> findById(Long id);
     
@@ -22,6 +29,20 @@ public interface TransactionRepository {
     
     List<Transaction> findByAccountIdAndDateRange(Long accountId, LocalDateTime startDate, LocalDateTime endDate);
     
+    // Paginación por cursor: hasta 'limit' transacciones anteriores al cursor, de más reciente a más antigua.
+    // Retornan proyecciones para que mapear la página no dispare cargas lazy
+    List<TransactionSummary> findPageByUserId(Long userId, TransactionCursor cursor, int limit);
+    
+    List<TransactionSummary> findPageByAccountId(Long accountId, TransactionCursor cursor, int limit);
+    
+    List<TransactionSummary> findPageByUserIdAndDateRange(Long userId, LocalDateTime startDate, LocalDateTime endDate,
+                                                          TransactionCursor cursor, int limit);
+    
+    // Recorrido completo en orden cronológico; el Stream debe cerrarse y consumirse dentro de una transacción
+    Stream<TransactionSummary> streamByUserId(Long userId);
+    
+    Stream<TransactionSummary> streamByAccountId(Long accountId);
+    
     List<Transaction> findByStatus(Transaction.TransactionStatus status);
     
     List<Transaction> findByType(Transaction.TransactionType type);
@@ -30,8 +51,6 @@ public interface TransactionRepository {
     
     void deleteById(Long id);
     
-    boolean existsByTransactionNumber(String transactionNumber);
-    
     // Métodos para reportes y analytics
     List<Transaction> findTransactionsByUserAndType(Long userId, Transaction.TransactionType type);
     
@@ -41,4 +60,23 @@ public interface TransactionRepository {
     List<Transaction> findPendingTransactions();
     
     List<Transaction> findPendingTransactionsByUserId(Long userId);
+    
+    List<TransactionSummary> findPendingSummaries();
+
+    Optional<Long> findAccountIdById(Long id);
+
+    // Procesamiento por lotes
+    List<PendingTransactionRef> findPendingChunk(Long afterId, int limit);
+
+    List<Transaction> findByIdsAndStatusForUpdate(List<Long> ids, Transaction.TransactionStatus status);
+
+    // Solo pasa a PROCESSING si la fila sigue PENDING; devuelve las filas actualizadas
+    int markProcessingIfPending(Long id);
+
+    // Cola de liquidación en segundo plano
+    List<PendingTransactionRef> claimPending(int limit);
+
+    int releaseStaleClaims(LocalDateTime cutoff);
+
+    Optional<LocalDateTime> findOldestPendingCreatedAt();
 } 
\ No newline at end of file
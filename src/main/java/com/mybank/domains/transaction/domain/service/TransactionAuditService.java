@@ -3,6 +3,10 @@ package com.mybank.domains.transaction.domain.service;
 import com.mybank.domains.transaction.domain.entity.Transaction;
 import com.mybank.domains.transaction.domain.entity.TransactionAudit;
 import com.mybank.domains.transaction.domain.repository.TransactionAuditRepository;
+import com.mybank.domains.transaction.domain.repository.TransactionAuditWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -13,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -21,6 +26,9 @@ import java.util.Map;
 public class TransactionAuditService {
 
     private final TransactionAuditRepository transactionAuditRepository;
+    private final TransactionAuditWriter transactionAuditWriter;
+    private final EntityManager entityManager;
+    private final MeterRegistry meterRegistry;
 
     /**
      * Registra un evento de auditoría
@@ -48,7 +56,7 @@ public class TransactionAuditService {
         audit.setSessionId(sessionId);
         audit.setAdditionalData(additionalData);
 
-        TransactionAudit savedAudit = transactionAuditRepository.save(audit);
+        TransactionAudit savedAudit = writeTimer(eventType.name()).record(() -> transactionAuditWriter.write(audit));
         log.info("Audit event logged: {} for transaction {} - {}", eventType, transaction.getTransactionNumber(), eventDescription);
         
         return savedAudit;
@@ -80,13 +88,22 @@ public class TransactionAuditService {
         audit.setUserAgent(userAgent);
         audit.setSessionId(sessionId);
 
-        TransactionAudit savedAudit = transactionAuditRepository.save(audit);
+        TransactionAudit savedAudit = writeTimer(audit.getEventType().name())
+                .record(() -> transactionAuditWriter.write(audit));
         log.info("Status change logged: {} -> {} for transaction {} - {}", 
                 previousStatus, newStatus, transaction.getTransactionNumber(), reason);
         
         return savedAudit;
     }
 
+    /**
+     * Registra varios eventos ya construidos en una sola escritura
+     */
+    public void logAll(List<TransactionAudit> audits) {
+        writeTimer("BULK").record(() -> transactionAuditWriter.writeAll(audits));
+        log.debug("{} audit events logged in bulk", audits.size());
+    }
+
     /**
      * Registra un evento de validación fallida
      */
@@ -253,4 +270,56 @@ public class TransactionAuditService {
     public Page<TransactionAudit> getAllAuditHistory(Pageable pageable) {
         return transactionAuditRepository.findAllByOrderByCreatedAtDesc(pageable);
     }
-} 
\ No newline at end of file
+
+    /**
+     * Recorre la auditoría de un rango de fechas con un cursor del servidor.
+     * Cada registro se desvincula del contexto de persistencia al leerse, así la
+     * memoria se mantiene constante; el Stream debe cerrarse dentro de la transacción.
+     */
+    @Transactional(readOnly = true)
+    public Stream<TransactionAudit> streamAuditHistoryByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return detached(transactionAuditRepository.streamByDateRange(startDate, endDate));
+    }
+
+    @Transactional(readOnly = true)
+    public Stream<TransactionAudit> streamAuditHistoryByEventType(TransactionAudit.AuditEventType eventType) {
+        return detached(transactionAuditRepository.streamByEventType(eventType));
+    }
+
+    @Transactional(readOnly = true)
+    public Stream<TransactionAudit> streamAccountAuditHistory(Long accountId) {
+        return detached(transactionAuditRepository.streamByAccountId(accountId));
+    }
+
+    @Transactional(readOnly = true)
+    public Stream<TransactionAudit> streamSearchAuditHistory(String searchTerm) {
+        return detached(transactionAuditRepository.streamByEventDescriptionContaining(searchTerm));
+    }
+
+    @Transactional(readOnly = true)
+    public Stream<TransactionAudit> streamAuditHistoryByIpAddress(String ipAddress) {
+        return detached(transactionAuditRepository.streamByIpAddress(ipAddress));
+    }
+
+    @Transactional(readOnly = true)
+    public Stream<TransactionAudit> streamAuditHistoryBySessionId(String sessionId) {
+        return detached(transactionAuditRepository.streamBySessionId(sessionId));
+    }
+
+    private Stream<TransactionAudit> detached(Stream<TransactionAudit> audits) {
+        return audits.map(audit -> {
+            entityManager.detach(audit);
+            return audit;
+        });
+    }
+
+    /**
+     * Duración de las escrituras de auditoría ({@code mybank.audit.write}) por tipo de evento
+     */
+    private Timer writeTimer(String event) {
+        return Timer.builder("mybank.audit.write")
+                .description("Escritura de eventos de auditoría")
+                .tag("event", event)
+                .register(meterRegistry);
+    }
+}
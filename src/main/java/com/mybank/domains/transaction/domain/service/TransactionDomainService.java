@@ -1,37 +1,74 @@
 package com.mybank.domains.transaction.domain.service;
 
 import com.mybank.domains.account.domain.entity.Account;
+import com.mybank.domains.account.domain.repository.AccountRepository;
 import com.mybank.domains.transaction.domain.entity.Transaction;
+import com.mybank.domains.transaction.domain.projection.PendingTransactionRef;
+import com.mybank.domains.transaction.domain.projection.TransactionSummary;
 import com.mybank.domains.transaction.domain.entity.TransactionAudit;
 import com.mybank.domains.transaction.domain.repository.TransactionRepository;
+import com.mybank.domains.transaction.domain.valueobject.TransactionCursor;
 import com.mybank.domains.transaction.domain.valueobject.Money;
 import com.mybank.domains.user.domain.entity.User;
 import com.mybank.shared.exception.BusinessException;
+import com.mybank.shared.exception.ConstraintViolations;
+import com.mybank.shared.exception.InsufficientFundsException;
+import com.mybank.shared.id.IdGenerator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class TransactionDomainService {
 
+    // Nombre que PostgreSQL da a la restricción UNIQUE de V3
+    private static final String TRANSACTION_NUMBER_CONSTRAINT = "transactions_transaction_number_key";
+
     private final TransactionRepository transactionRepository;
     private final TransactionAuditService transactionAuditService;
-
+    private final AccountRepository accountRepository;
+    private final IdGenerator idGenerator;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Crea la transacción y registra su duración en {@code mybank.transactions.create},
+     * por tipo y resultado ({@code created}, {@code rejected}, {@code invalid}, {@code error}).
+     */
     public Transaction createTransaction(Transaction transaction) {
-        log.info("Creating new transaction: {}", transaction.getTransactionNumber());
-        
-        // Validar que el número de transacción sea único
-        if (transactionRepository.existsByTransactionNumber(transaction.getTransactionNumber())) {
-            transactionAuditService.logValidationFailure(transaction, "Transaction number already exists");
-            throw new BusinessException("Transaction number already exists", "TRANSACTION_NUMBER_EXISTS", "TRANSACTION");
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            Transaction created = doCreateTransaction(transaction);
+            outcome = "created";
+            return created;
+        } catch (InsufficientFundsException e) {
+            outcome = "rejected";
+            throw e;
+        } catch (BusinessException e) {
+            outcome = "invalid";
+            throw e;
+        } finally {
+            sample.stop(timer("mybank.transactions.create", "Creación de transacciones", transaction.getType(), outcome));
+        }
+    }
+
+    private Transaction doCreateTransaction(Transaction transaction) {
+        if (transaction.getTransactionNumber() == null) {
+            transaction.setTransactionNumber(idGenerator.nextNumber("TXN"));
         }
+        log.info("Creating new transaction: {}", transaction.getTransactionNumber());
 
         // Validar el monto básico (sin validar fondos)
         try {
@@ -49,42 +86,85 @@ public class TransactionDomainService {
             throw e;
         }
 
-        Transaction savedTransaction = transactionRepository.save(transaction);
-        
-        // Validar fondos después de guardar la transacción
+        // Validar fondos antes de persistir: una transacción rechazada se inserta una sola vez, ya como FAILED
+        InsufficientFundsException fundsFailure = null;
         try {
-            validateTransactionFunds(savedTransaction);
+            validateTransactionFunds(transaction);
+        } catch (InsufficientFundsException e) {
+            fundsFailure = e;
+            transaction.setStatus(Transaction.TransactionStatus.FAILED);
+            transaction.setNotes("Insufficient funds: " + e.getMessage());
         } catch (BusinessException e) {
-            // Si no hay fondos suficientes, marcar como fallida
-            savedTransaction.setStatus(Transaction.TransactionStatus.FAILED);
-            savedTransaction.setNotes("Insufficient funds: " + e.getMessage());
-            savedTransaction = transactionRepository.save(savedTransaction);
-            
-            transactionAuditService.logValidationFailure(savedTransaction, e.getMessage());
+            transactionAuditService.logValidationFailure(transaction, e.getMessage());
             throw e;
         }
-        
-        // Registrar auditoría de creación
-        transactionAuditService.logEvent(savedTransaction, 
-                                       TransactionAudit.AuditEventType.TRANSACTION_CREATED, 
-                                       "Transaction created successfully");
+
+        Transaction savedTransaction = transactionRepository.save(transaction);
+        if (fundsFailure == null) {
+            transactionAuditService.logEvent(savedTransaction,
+                                           TransactionAudit.AuditEventType.TRANSACTION_CREATED,
+                                           "Transaction created successfully");
+        } else {
+            transactionAuditService.logValidationFailure(savedTransaction, fundsFailure.getMessage());
+        }
+
+        // El flush inserta la transacción; su auditoría se escribe después, en el lote JDBC que el
+        // escritor envía en beforeCommit (modo on-commit), o en este mismo flush solo en modo sync.
+        // La unicidad del número la garantiza la restricción UNIQUE, sin consulta previa
+        try {
+            transactionRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            // El flush lleva toda la unidad de trabajo: solo la restricción del número es un duplicado
+            if (!ConstraintViolations.isUniqueViolation(e, TRANSACTION_NUMBER_CONSTRAINT)) {
+                throw e;
+            }
+            log.warn("Transaction number {} already exists", transaction.getTransactionNumber());
+            throw new BusinessException("Transaction number already exists", "TRANSACTION_NUMBER_EXISTS", "TRANSACTION");
+        }
+
+        if (fundsFailure != null) {
+            throw fundsFailure;
+        }
         
         log.info("Transaction created successfully with ID: {}", savedTransaction.getId());
         
         return savedTransaction;
     }
 
+    /**
+     * Procesa la transacción y registra su duración en {@code mybank.transactions.process},
+     * por tipo y resultado ({@code completed}, {@code failed}, {@code error}).
+     */
     public Transaction processTransaction(Long transactionId) {
         log.info("Processing transaction with ID: {}", transactionId);
         
         Transaction transaction = findById(transactionId);
-        
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            Transaction processed = doProcessTransaction(transaction);
+            outcome = processed.getStatus().name().toLowerCase();
+            return processed;
+        } catch (BusinessException e) {
+            outcome = "failed";
+            throw e;
+        } finally {
+            sample.stop(timer("mybank.transactions.process", "Procesamiento de transacciones", transaction.getType(), outcome));
+        }
+    }
+
+    private Transaction doProcessTransaction(Transaction transaction) {
         if (transaction.getStatus() != Transaction.TransactionStatus.PENDING) {
             transactionAuditService.logValidationFailure(transaction, "Transaction is not in pending status");
             throw new BusinessException("Transaction is not in pending status", "INVALID_TRANSACTION_STATUS", "TRANSACTION");
         }
 
-        // Cambiar estado a procesando
+        // Cambiar estado a procesando solo si la fila sigue PENDING: el worker u otra instancia
+        // pudo reclamarla después de leerla, y los carriles solo serializan dentro de esta JVM
+        if (transactionRepository.markProcessingIfPending(transaction.getId()) == 0) {
+            log.warn("Transaction {} was claimed concurrently, skipping", transaction.getTransactionNumber());
+            throw new BusinessException("Transaction is not in pending status", "INVALID_TRANSACTION_STATUS", "TRANSACTION");
+        }
         Transaction.TransactionStatus previousStatus = transaction.getStatus();
         transaction.setStatus(Transaction.TransactionStatus.PROCESSING);
         transaction = transactionRepository.save(transaction);
@@ -154,6 +234,120 @@ public class TransactionDomainService {
         return transactionRepository.save(transaction);
     }
 
+    /**
+     * Procesa en un solo paso las transacciones pendientes de una cuenta. Se bloquean
+     * las transacciones y la fila de la cuenta, se recorren en orden de creación
+     * acumulando el balance en memoria (una transacción sin fondos falla sin afectar a
+     * las siguientes) y la variación neta se aplica con un único UPDATE. La auditoría
+     * se escribe en bloque. Debe llamarse dentro de una transacción.
+     *
+     * @return las transacciones procesadas, completadas o fallidas
+     */
+    public List<Transaction> processAccountBatch(Long accountId, List<Long> transactionIds) {
+        return settleAccountBatch(accountId, transactionIds, Transaction.TransactionStatus.PENDING);
+    }
+
+    /**
+     * Igual que {@link #processAccountBatch}, para transacciones ya reclamadas por el
+     * worker de liquidación (en estado {@code PROCESSING}).
+     */
+    public List<Transaction> settleClaimedBatch(Long accountId, List<Long> transactionIds) {
+        return settleAccountBatch(accountId, transactionIds, Transaction.TransactionStatus.PROCESSING);
+    }
+
+    private List<Transaction> settleAccountBatch(Long accountId, List<Long> transactionIds,
+                                                 Transaction.TransactionStatus fromStatus) {
+        List<Transaction> transactions = transactionRepository.findByIdsAndStatusForUpdate(transactionIds, fromStatus);
+        if (transactions.isEmpty()) {
+            return transactions;
+        }
+
+        // Sin cuenta no hay balance que tocar: todas las transacciones del grupo fallan
+        BigDecimal startingBalance = accountId == null ? BigDecimal.ZERO
+                : accountRepository.findBalanceForUpdate(accountId)
+                        .orElseThrow(() -> new BusinessException("Account not found", "ACCOUNT_NOT_FOUND", "TRANSACTION"));
+        BigDecimal balance = startingBalance;
+        LocalDateTime processedAt = LocalDateTime.now();
+        List<TransactionAudit> audits = new ArrayList<>(transactions.size() * 2);
+
+        for (Transaction transaction : transactions) {
+            BigDecimal amount = transaction.getTotalAmount();
+            BigDecimal oldBalance = balance;
+            String failure = accountId == null ? "Account is required" : null;
+
+            if (failure == null) {
+                switch (transaction.getType()) {
+                    case DEPOSIT:
+                    case REFUND:
+                        balance = balance.add(amount);
+                        break;
+                    case WITHDRAWAL:
+                    case PAYMENT:
+                    case FEE_CHARGE:
+                        if (amount.compareTo(balance) > 0) {
+                            failure = "Insufficient funds for withdrawal";
+                        } else {
+                            balance = balance.subtract(amount);
+                        }
+                        break;
+                    default:
+                        failure = "Unsupported transaction type";
+                }
+            }
+
+            if (failure == null) {
+                transaction.setStatus(Transaction.TransactionStatus.COMPLETED);
+                transaction.setProcessedAt(processedAt);
+                audits.add(TransactionAudit.fromTransaction(transaction,
+                        TransactionAudit.AuditEventType.BALANCE_UPDATED,
+                        String.format("Batch processed: Account %s balance updated from %s to %s",
+                                transaction.getAccount().getAccountNumber(), oldBalance, balance)));
+                audits.add(TransactionAudit.statusChange(transaction, fromStatus,
+                        Transaction.TransactionStatus.COMPLETED, "Transaction processed in batch"));
+            } else {
+                transaction.setStatus(Transaction.TransactionStatus.FAILED);
+                transaction.setNotes("Processing failed: " + failure);
+                audits.add(TransactionAudit.statusChange(transaction, fromStatus,
+                        Transaction.TransactionStatus.FAILED, "Processing failed: " + failure));
+            }
+        }
+
+        BigDecimal delta = balance.subtract(startingBalance);
+        if (delta.signum() != 0) {
+            accountRepository.adjustBalance(accountId, delta);
+        }
+        // Las transacciones están gestionadas: sus cambios de estado se escriben en lote al hacer flush
+        transactionAuditService.logAll(audits);
+
+        log.debug("Batch for account {} processed {} transactions, balance {} -> {}",
+                accountId, transactions.size(), startingBalance, balance);
+        return transactions;
+    }
+
+    public List<PendingTransactionRef> findPendingChunk(Long afterId, int limit) {
+        return transactionRepository.findPendingChunk(afterId, limit);
+    }
+
+    /**
+     * Reclama hasta {@code limit} transacciones pendientes pasándolas a {@code PROCESSING}.
+     * Las filas que otra instancia tiene bloqueadas se saltan ({@code SKIP LOCKED}).
+     */
+    public List<PendingTransactionRef> claimPending(int limit) {
+        return transactionRepository.claimPending(limit);
+    }
+
+    /**
+     * Devuelve a la cola las transacciones reclamadas antes de {@code cutoff} que nunca
+     * se liquidaron, p. ej. porque la instancia que las tomó se detuvo.
+     */
+    public int releaseStaleClaims(LocalDateTime cutoff) {
+        return transactionRepository.releaseStaleClaims(cutoff);
+    }
+
+    public Optional<LocalDateTime> findOldestPendingCreatedAt() {
+        return transactionRepository.findOldestPendingCreatedAt();
+    }
+
     public Transaction findById(Long id) {
         return transactionRepository.findById(id)
                 .orElseThrow(() -> new BusinessException("Transaction not found", "TRANSACTION_NOT_FOUND", "TRANSACTION"));
@@ -171,14 +365,51 @@ public class TransactionDomainService {
         return transactionRepository.findByAccountId(accountId);
     }
 
+    public List<TransactionSummary> findPageByUserId(Long userId, TransactionCursor cursor, int limit) {
+        return transactionRepository.findPageByUserId(userId, cursor, limit);
+    }
+
+    public List<TransactionSummary> findPageByAccountId(Long accountId, TransactionCursor cursor, int limit) {
+        return transactionRepository.findPageByAccountId(accountId, cursor, limit);
+    }
+
+    public List<TransactionSummary> findPageByUserIdAndDateRange(Long userId, LocalDateTime startDate, LocalDateTime endDate,
+                                                                 TransactionCursor cursor, int limit) {
+        return transactionRepository.findPageByUserIdAndDateRange(userId, startDate, endDate, cursor, limit);
+    }
+
+    public Stream<TransactionSummary> streamByUserId(Long userId) {
+        return transactionRepository.streamByUserId(userId);
+    }
+
+    public Stream<TransactionSummary> streamByAccountId(Long accountId) {
+        return transactionRepository.streamByAccountId(accountId);
+    }
+
+    public Optional<Long> findAccountIdById(Long transactionId) {
+        return transactionRepository.findAccountIdById(transactionId);
+    }
+
     public List<Transaction> findPendingTransactions() {
         return transactionRepository.findPendingTransactions();
     }
 
+    public List<TransactionSummary> findPendingSummaries() {
+        return transactionRepository.findPendingSummaries();
+    }
+
     public List<Transaction> findByUserIdAndDateRange(Long userId, LocalDateTime startDate, LocalDateTime endDate) {
         return transactionRepository.findByUserIdAndDateRange(userId, startDate, endDate);
     }
 
+    private Timer timer(String name, String description, Transaction.TransactionType type, String outcome) {
+        return Timer.builder(name)
+                .description(description)
+                .tag("type", type == null ? "NONE" : type.name())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
     private void validateBasicTransactionAmount(Transaction transaction) {
         if (transaction.getAmount() == null || transaction.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
             throw new BusinessException("Transaction amount must be greater than zero", "INVALID_AMOUNT", "TRANSACTION");
@@ -210,7 +441,7 @@ public class TransactionDomainService {
         Money withdrawalAmount = new Money(transaction.getTotalAmount());
 
         if (withdrawalAmount.isGreaterThan(currentBalance)) {
-            throw new BusinessException("Insufficient funds for withdrawal", "INSUFFICIENT_FUNDS", "TRANSACTION");
+            throw new InsufficientFundsException("Insufficient funds for withdrawal", "TRANSACTION");
         }
     }
 
@@ -246,9 +477,8 @@ public class TransactionDomainService {
         }
 
         // Actualizar balance de la cuenta
-        BigDecimal oldBalance = account.getBalance();
-        BigDecimal newBalance = account.getBalance().add(transaction.getTotalAmount());
-        account.setBalance(newBalance);
+        BigDecimal newBalance = credit(account, transaction.getTotalAmount());
+        BigDecimal oldBalance = newBalance.subtract(transaction.getTotalAmount());
         
         // Registrar auditoría de actualización de balance
         transactionAuditService.logEvent(transaction, 
@@ -266,18 +496,15 @@ public class TransactionDomainService {
             throw new BusinessException("Account is required for withdrawal", "ACCOUNT_REQUIRED", "TRANSACTION");
         }
 
-        // Validar fondos nuevamente antes de procesar
+        // Descontar validando fondos en la misma sentencia
+        BigDecimal newBalance;
         try {
-            validateWithdrawalAmount(transaction);
+            newBalance = debit(account, transaction.getTotalAmount());
         } catch (BusinessException e) {
             transactionAuditService.logValidationFailure(transaction, e.getMessage());
             throw e;
         }
-
-        // Actualizar balance de la cuenta
-        BigDecimal oldBalance = account.getBalance();
-        BigDecimal newBalance = account.getBalance().subtract(transaction.getTotalAmount());
-        account.setBalance(newBalance);
+        BigDecimal oldBalance = newBalance.add(transaction.getTotalAmount());
         
         // Registrar auditoría de actualización de balance
         transactionAuditService.logEvent(transaction, 
@@ -339,12 +566,8 @@ public class TransactionDomainService {
             throw new BusinessException("Account is required for payment", "ACCOUNT_REQUIRED", "TRANSACTION");
         }
 
-        // Validar fondos
-        validateWithdrawalAmount(transaction);
-
-        // Actualizar balance de la cuenta
-        BigDecimal newBalance = account.getBalance().subtract(transaction.getTotalAmount());
-        account.setBalance(newBalance);
+        // Descontar validando fondos en la misma sentencia
+        BigDecimal newBalance = debit(account, transaction.getTotalAmount());
         
         log.info("Payment processed: Account {} balance updated to {}", account.getAccountNumber(), newBalance);
     }
@@ -355,12 +578,8 @@ public class TransactionDomainService {
             throw new BusinessException("Account is required for fee charge", "ACCOUNT_REQUIRED", "TRANSACTION");
         }
 
-        // Validar fondos
-        validateWithdrawalAmount(transaction);
-
-        // Actualizar balance de la cuenta
-        BigDecimal newBalance = account.getBalance().subtract(transaction.getTotalAmount());
-        account.setBalance(newBalance);
+        // Descontar validando fondos en la misma sentencia
+        BigDecimal newBalance = debit(account, transaction.getTotalAmount());
         
         log.info("Fee charge processed: Account {} balance updated to {}", account.getAccountNumber(), newBalance);
     }
@@ -372,9 +591,22 @@ public class TransactionDomainService {
         }
 
         // Para reembolsos, agregamos el monto a la cuenta
-        BigDecimal newBalance = account.getBalance().add(transaction.getTotalAmount());
-        account.setBalance(newBalance);
+        BigDecimal newBalance = credit(account, transaction.getTotalAmount());
         
         log.info("Refund processed: Account {} balance updated to {}", account.getAccountNumber(), newBalance);
     }
+
+    /**
+     * Descuenta el monto con un UPDATE condicional: la verificación de fondos y la
+     * escritura son una sola operación, sin lecturas previas que puedan quedar obsoletas.
+     */
+    private BigDecimal debit(Account account, BigDecimal amount) {
+        return accountRepository.debit(account.getId(), amount)
+                .orElseThrow(() -> new InsufficientFundsException("Insufficient funds for withdrawal", "TRANSACTION"));
+    }
+
+    private BigDecimal credit(Account account, BigDecimal amount) {
+        return accountRepository.credit(account.getId(), amount)
+                .orElseThrow(() -> new BusinessException("Account not found", "ACCOUNT_NOT_FOUND", "TRANSACTION"));
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.mybank.domains.transaction.domain.valueobject;
+
+import com.mybank.domains.transaction.domain.projection.TransactionSummary;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posición en el historial de transacciones, ordenado por (createdAt, id) descendente.
+ * Se expone al cliente como un token opaco.
+ */
+@Value
+public class TransactionCursor {
+
+    private static final String SEPARATOR = "|";
+
+    // Posición inicial: anterior a cualquier transacción existente
+    public static final TransactionCursor START =
+            new TransactionCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    LocalDateTime createdAt;
+    Long id;
+
+    public static TransactionCursor after(TransactionSummary transaction) {
+        return new TransactionCursor(transaction.getCreatedAt(), transaction.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un token generado por {@link #encode()}.
+     * @throws IllegalArgumentException si el token no es válido
+     */
+    public static TransactionCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new TransactionCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,379 @@
+package com.mybank.domains.transaction.infrastructure.persistence;
+
+import com.mybank.domains.transaction.domain.entity.TransactionAudit;
+import com.mybank.domains.transaction.domain.repository.TransactionAuditRepository;
+import com.mybank.domains.transaction.domain.repository.TransactionAuditWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Escritor de auditoría con tres modos de operación:
+ * <ul>
+ *   <li>{@code SYNC}: en la transacción del llamador; cada registro con JPA y los lotes
+ *       de {@link #writeAll} con un solo batch JDBC.</li>
+ *   <li>{@code ASYNC}: encola el registro en una cola acotada; un hilo de fondo lo
+ *       inserta en lotes JDBC por tamaño o por tiempo. Es opcional: lo encolado se pierde
+ *       si el proceso muere y se escribe aunque la transacción del llamador se revierta.</li>
+ *   <li>{@code ON_COMMIT} (por defecto): acumula los registros de la transacción actual y
+ *       los inserta en un solo lote justo antes del commit.</li>
+ * </ul>
+ * Si la cola asíncrona está llena, el llamador espera hasta {@code offer-timeout-ms}
+ * y, si sigue llena, escribe el registro él mismo (backpressure sin pérdida).
+ * <p>
+ * Los inserts JDBC toman los IDs por bloques de la misma secuencia que usa Hibernate, con
+ * la misma regla del optimizador pooled: cada {@code nextval} reserva {@code (v - 49, v]}.
+ */
+@Component
+@Slf4j
+public class BatchingTransactionAuditWriter implements TransactionAuditWriter {
+
+    static final String INSERT_SQL = "INSERT INTO transaction_audit_logs (id, " +
+            "transaction_id, transaction_number, previous_status, new_status, transaction_type, " +
+            "amount, total_amount, user_id, user_username, account_id, account_number, " +
+            "source_account_id, source_account_number, destination_account_id, destination_account_number, " +
+            "audit_event_type, event_description, additional_data, ip_address, user_agent, session_id, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    static final String NEXT_ID_BLOCK_SQL = "SELECT nextval('transaction_audit_logs_id_seq')";
+
+    // Igual al allocationSize de TransactionAudit y al INCREMENT BY de la secuencia (V5)
+    static final int ID_BLOCK_SIZE = 50;
+
+    private static final int[] INSERT_TYPES = {
+            Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.NUMERIC, Types.NUMERIC, Types.BIGINT, Types.VARCHAR, Types.BIGINT, Types.VARCHAR,
+            Types.BIGINT, Types.VARCHAR, Types.BIGINT, Types.VARCHAR,
+            Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP
+    };
+
+    public enum Mode {
+        SYNC, ASYNC, ON_COMMIT
+    }
+
+    private final TransactionAuditRepository transactionAuditRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Mode mode;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long offerTimeoutMs;
+    private final BlockingQueue<TransactionAudit> queue;
+
+    private final Timer flushTimer;
+    private final DistributionSummary batchSizeSummary;
+    private final Counter backpressureCounter;
+    private final Counter failureCounter;
+
+    // Bloque de IDs reservado; vacío cuando nextId > blockEnd
+    private final Lock idLock = new ReentrantLock();
+    private long nextId;
+    private long blockEnd = -1;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public BatchingTransactionAuditWriter(TransactionAuditRepository transactionAuditRepository,
+                                          JdbcTemplate jdbcTemplate,
+                                          PlatformTransactionManager transactionManager,
+                                          MeterRegistry meterRegistry,
+                                          @Value("${mybank.audit.writer.mode:on-commit}") String mode,
+                                          @Value("${mybank.audit.writer.queue-capacity:10000}") int queueCapacity,
+                                          @Value("${mybank.audit.writer.batch-size:100}") int batchSize,
+                                          @Value("${mybank.audit.writer.flush-interval-ms:200}") long flushIntervalMs,
+                                          @Value("${mybank.audit.writer.offer-timeout-ms:50}") long offerTimeoutMs) {
+        this.transactionAuditRepository = transactionAuditRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.mode = Mode.valueOf(mode.trim().toUpperCase().replace('-', '_'));
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        Gauge.builder("mybank.audit.queue.depth", queue, BlockingQueue::size)
+                .description("Registros de auditoría pendientes de escribir")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("mybank.audit.flush")
+                .description("Latencia de escritura de lotes de auditoría")
+                .tag("mode", this.mode.name())
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("mybank.audit.flush.batch.size")
+                .tag("mode", this.mode.name())
+                .register(meterRegistry);
+        this.backpressureCounter = Counter.builder("mybank.audit.backpressure")
+                .description("Registros escritos por el llamador por cola llena")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("mybank.audit.write.failures")
+                .description("Registros de auditoría que no pudieron persistirse")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (mode != Mode.ASYNC || running) {
+            return;
+        }
+        running = true;
+        writerThread = new Thread(this::runWriterLoop, "audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        log.info("Async audit writer started (batchSize={}, flushIntervalMs={})",
+                batchSize, TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos));
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        writerThread.join(TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos) + 5000);
+
+        // Lo que no alcanzó a drenar el hilo se escribe aquí
+        List<TransactionAudit> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            insertBatchTolerant(remaining);
+        }
+        log.info("Async audit writer stopped");
+    }
+
+    @Override
+    public TransactionAudit write(TransactionAudit audit) {
+        switch (mode) {
+            case SYNC:
+                return transactionAuditRepository.save(audit);
+            case ON_COMMIT:
+                stampCreatedAt(audit);
+                bufferUntilCommit(audit);
+                return audit;
+            default:
+                stampCreatedAt(audit);
+                enqueue(audit);
+                return audit;
+        }
+    }
+
+    /**
+     * En modo {@code SYNC} los registros se insertan en un solo lote JDBC dentro de la
+     * transacción del llamador; en los modos diferidos se tratan igual que {@link #write}.
+     */
+    @Override
+    public void writeAll(List<TransactionAudit> audits) {
+        if (audits.isEmpty()) {
+            return;
+        }
+        switch (mode) {
+            case SYNC:
+                audits.forEach(BatchingTransactionAuditWriter::stampCreatedAt);
+                insertBatch(audits);
+                break;
+            case ON_COMMIT:
+                audits.forEach(audit -> {
+                    stampCreatedAt(audit);
+                    bufferUntilCommit(audit);
+                });
+                break;
+            default:
+                audits.forEach(audit -> {
+                    stampCreatedAt(audit);
+                    enqueue(audit);
+                });
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    private void enqueue(TransactionAudit audit) {
+        try {
+            if (queue.offer(audit, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Cola llena: el llamador escribe el registro dentro de su propia transacción
+        backpressureCounter.increment();
+        log.warn("Audit queue full, writing audit for transaction {} on caller thread", audit.getTransactionNumber());
+        insertBatch(List.of(audit));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void bufferUntilCommit(TransactionAudit audit) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            insertBatch(List.of(audit));
+            return;
+        }
+
+        List<TransactionAudit> buffer = (List<TransactionAudit>) TransactionSynchronizationManager.getResource(this);
+        if (buffer == null) {
+            List<TransactionAudit> newBuffer = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, newBuffer);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    if (!newBuffer.isEmpty()) {
+                        insertBatch(newBuffer);
+                    }
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(BatchingTransactionAuditWriter.this);
+                }
+            });
+            buffer = newBuffer;
+        }
+        buffer.add(audit);
+    }
+
+    private void runWriterLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                TransactionAudit first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                List<TransactionAudit> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                queue.drainTo(batch, batchSize - batch.size());
+                while (batch.size() < batchSize && running) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    TransactionAudit next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+
+                insertBatchTolerant(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("Unexpected error in audit writer loop: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Escribe el lote en su propia transacción; si falla, reintenta registro por
+     * registro para no perder el lote completo por una sola fila inválida.
+     */
+    private void insertBatchTolerant(List<TransactionAudit> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertBatch(batch));
+        } catch (DataAccessException e) {
+            if (batch.size() == 1) {
+                failureCounter.increment();
+                log.error("Failed to write audit for transaction {}: {}",
+                        batch.get(0).getTransactionNumber(), e.getMessage());
+                return;
+            }
+            log.warn("Audit batch of {} failed, retrying row by row: {}", batch.size(), e.getMessage());
+            for (TransactionAudit audit : batch) {
+                insertBatchTolerant(List.of(audit));
+            }
+        }
+    }
+
+    private void insertBatch(List<TransactionAudit> batch) {
+        assignIds(batch);
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (TransactionAudit audit : batch) {
+            rows.add(toRow(audit));
+        }
+        flushTimer.record(() -> jdbcTemplate.batchUpdate(INSERT_SQL, rows, INSERT_TYPES));
+        batchSizeSummary.record(batch.size());
+    }
+
+    /**
+     * Asigna IDs a los registros que no lo tienen; solo consulta la secuencia al agotar el bloque.
+     */
+    private void assignIds(List<TransactionAudit> batch) {
+        idLock.lock();
+        try {
+            for (TransactionAudit audit : batch) {
+                if (audit.getId() != null) {
+                    continue;
+                }
+                if (nextId > blockEnd) {
+                    long hi = jdbcTemplate.queryForObject(NEXT_ID_BLOCK_SQL, Long.class);
+                    // Como Hibernate: si la secuencia devuelve su valor inicial (1) el bloque es solo ese ID
+                    nextId = Math.max(hi - ID_BLOCK_SIZE + 1, 1);
+                    blockEnd = hi;
+                }
+                audit.setId(nextId++);
+            }
+        } finally {
+            idLock.unlock();
+        }
+    }
+
+    private static void stampCreatedAt(TransactionAudit audit) {
+        if (audit.getCreatedAt() == null) {
+            audit.setCreatedAt(LocalDateTime.now());
+        }
+    }
+
+    private static Object[] toRow(TransactionAudit audit) {
+        return new Object[]{
+                audit.getId(),
+                audit.getTransactionId(),
+                audit.getTransactionNumber(),
+                audit.getPreviousStatus() != null ? audit.getPreviousStatus().name() : null,
+                audit.getNewStatus() != null ? audit.getNewStatus().name() : null,
+                audit.getTransactionType() != null ? audit.getTransactionType().name() : null,
+                audit.getAmount(),
+                audit.getTotalAmount(),
+                audit.getUserId(),
+                audit.getUserUsername(),
+                audit.getAccountId(),
+                audit.getAccountNumber(),
+                audit.getSourceAccountId(),
+                audit.getSourceAccountNumber(),
+                audit.getDestinationAccountId(),
+                audit.getDestinationAccountNumber(),
+                audit.getEventType() != null ? audit.getEventType().name() : null,
+                audit.getEventDescription(),
+                audit.getAdditionalData(),
+                audit.getIpAddress(),
+                audit.getUserAgent(),
+                audit.getSessionId(),
+                Timestamp.valueOf(audit.getCreatedAt())
+        };
+    }
+}
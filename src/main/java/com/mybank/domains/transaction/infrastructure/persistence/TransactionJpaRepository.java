@@ -1,14 +1,25 @@
 package com.mybank.domains.transaction.infrastructure.persistence;
 
 import com.mybank.domains.transaction.domain.entity.Transaction;
+import com.mybank.domains.transaction.domain.projection.PendingTransactionRef;
+import com.mybank.domains.transaction.domain.projection.TransactionSummary;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionJpaRepository extends JpaRepository<Transaction, Long> {
@@ -29,12 +40,49 @@ public interface TransactionJpaRepository extends JpaRepository<Transaction, Lon
                                                  @Param("startDate") LocalDateTime startDate, 
                                                  @Param("endDate") LocalDateTime endDate);
     
+    // Listados: proyección a TransactionSummary en una sola consulta
+    @Query(TransactionSummary.SELECT +
+           "WHERE u.id = :userId " +
+           "AND (t.createdAt, t.id) < (:cursorCreatedAt, :cursorId) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TransactionSummary> findPageByUserId(@Param("userId") Long userId,
+                                              @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                              @Param("cursorId") Long cursorId,
+                                              Pageable pageable);
+    
+    @Query(TransactionSummary.SELECT +
+           "WHERE a.id = :accountId " +
+           "AND (t.createdAt, t.id) < (:cursorCreatedAt, :cursorId) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TransactionSummary> findPageByAccountId(@Param("accountId") Long accountId,
+                                                 @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                                 @Param("cursorId") Long cursorId,
+                                                 Pageable pageable);
+    
+    @Query(TransactionSummary.SELECT +
+           "WHERE u.id = :userId AND t.createdAt BETWEEN :startDate AND :endDate " +
+           "AND (t.createdAt, t.id) < (:cursorCreatedAt, :cursorId) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TransactionSummary> findPageByUserIdAndDateRange(@Param("userId") Long userId,
+                                                          @Param("startDate") LocalDateTime startDate,
+                                                          @Param("endDate") LocalDateTime endDate,
+                                                          @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                                          @Param("cursorId") Long cursorId,
+                                                          Pageable pageable);
+    
+    // Exportación: cursor del servidor, se leen filas en bloques de fetch size
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(TransactionSummary.SELECT + "WHERE u.id = :userId ORDER BY t.createdAt, t.id")
+    Stream<TransactionSummary> streamByUserId(@Param("userId") Long userId);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(TransactionSummary.SELECT + "WHERE a.id = :accountId ORDER BY t.createdAt, t.id")
+    Stream<TransactionSummary> streamByAccountId(@Param("accountId") Long accountId);
+    
     List<Transaction> findByStatus(Transaction.TransactionStatus status);
     
     List<Transaction> findByType(Transaction.TransactionType type);
     
-    boolean existsByTransactionNumber(String transactionNumber);
-    
     @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId AND t.type = :type")
     List<Transaction> findTransactionsByUserAndType(@Param("userId") Long userId, 
                                                    @Param("type") Transaction.TransactionType type);
@@ -46,6 +94,47 @@ public interface TransactionJpaRepository extends JpaRepository<Transaction, Lon
     @Query("SELECT t FROM Transaction t WHERE t.status = 'PENDING'")
     List<Transaction> findPendingTransactions();
     
+    @Query(TransactionSummary.SELECT + "WHERE t.status = 'PENDING' ORDER BY t.createdAt, t.id")
+    List<TransactionSummary> findPendingSummaries();
+
+    @Query("SELECT t.account.id FROM Transaction t WHERE t.id = :id")
+    Optional<Long> findAccountIdById(@Param("id") Long id);
+
+    @Query("SELECT new com.mybank.domains.transaction.domain.projection.PendingTransactionRef(t.id, a.id, t.createdAt) " +
+           "FROM Transaction t LEFT JOIN t.account a " +
+           "WHERE t.status = 'PENDING' AND t.id > :afterId ORDER BY t.id")
+    List<PendingTransactionRef> findPendingChunk(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Bloquea las filas para que nadie más las procese mientras dura el lote
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Transaction t WHERE t.id IN :ids AND t.status = :status ORDER BY t.createdAt, t.id")
+    List<Transaction> findByIdsAndStatusForUpdate(@Param("ids") List<Long> ids,
+                                                  @Param("status") Transaction.TransactionStatus status);
+
+    // Paso PENDING -> PROCESSING condicionado al estado actual de la fila
+    @Transactional
+    @Modifying
+    @Query("UPDATE Transaction t SET t.status = 'PROCESSING', t.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE t.id = :id AND t.status = 'PENDING'")
+    int markProcessingIfPending(@Param("id") Long id);
+
+    // Reclamo de la cola de liquidación: las filas bloqueadas por otro worker se saltan
+    @Transactional
+    @Query(value = "UPDATE transactions SET status = 'PROCESSING', updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE id IN (SELECT id FROM transactions WHERE status = 'PENDING' " +
+                   "ORDER BY created_at, id LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+                   "RETURNING id, account_id, created_at", nativeQuery = true)
+    List<Object[]> claimPending(@Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Transaction t SET t.status = 'PENDING', t.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE t.status = 'PROCESSING' AND t.updatedAt < :cutoff")
+    int releaseStaleClaims(@Param("cutoff") LocalDateTime cutoff);
+
+    @Query("SELECT MIN(t.createdAt) FROM Transaction t WHERE t.status = 'PENDING'")
+    Optional<LocalDateTime> findOldestPendingCreatedAt();
+    
     @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId AND t.status = 'PENDING'")
     List<Transaction> findPendingTransactionsByUserId(@Param("userId") Long userId);
 } 
\ No newline at end of file
@@ -1,13 +1,20 @@
 package com.mybank.domains.transaction.infrastructure.persistence;
 
 import com.mybank.domains.transaction.domain.entity.Transaction;
+import com.mybank.domains.transaction.domain.projection.PendingTransactionRef;
+import com.mybank.domains.transaction.domain.projection.TransactionSummary;
 import com.mybank.domains.transaction.domain.repository.TransactionRepository;
+import com.mybank.domains.transaction.domain.valueobject.TransactionCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 @RequiredArgsConstructor
@@ -20,6 +27,11 @@ public class TransactionRepositoryImpl implements TransactionRepository {
         return transactionJpaRepository.save(transaction);
     }
 
+    @Override
+    public void flush() {
+        transactionJpaRepository.flush();
+    }
+
     @Override
     public Optional<Transaction> findById(Long id) {
         return transactionJpaRepository.findById(id);
@@ -50,6 +62,35 @@ public class TransactionRepositoryImpl implements TransactionRepository {
         return transactionJpaRepository.findByAccountIdAndDateRange(accountId, startDate, endDate);
     }
 
+    @Override
+    public List<TransactionSummary> findPageByUserId(Long userId, TransactionCursor cursor, int limit) {
+        return transactionJpaRepository.findPageByUserId(userId, cursor.getCreatedAt(), cursor.getId(),
+                PageRequest.ofSize(limit));
+    }
+
+    @Override
+    public List<TransactionSummary> findPageByAccountId(Long accountId, TransactionCursor cursor, int limit) {
+        return transactionJpaRepository.findPageByAccountId(accountId, cursor.getCreatedAt(), cursor.getId(),
+                PageRequest.ofSize(limit));
+    }
+
+    @Override
+    public List<TransactionSummary> findPageByUserIdAndDateRange(Long userId, LocalDateTime startDate, LocalDateTime endDate,
+                                                                 TransactionCursor cursor, int limit) {
+        return transactionJpaRepository.findPageByUserIdAndDateRange(userId, startDate, endDate,
+                cursor.getCreatedAt(), cursor.getId(), PageRequest.ofSize(limit));
+    }
+
+    @Override
+    public Stream<TransactionSummary> streamByUserId(Long userId) {
+        return transactionJpaRepository.streamByUserId(userId);
+    }
+
+    @Override
+    public Stream<TransactionSummary> streamByAccountId(Long accountId) {
+        return transactionJpaRepository.streamByAccountId(accountId);
+    }
+
     @Override
     public List<Transaction> findByStatus(Transaction.TransactionStatus status) {
         return transactionJpaRepository.findByStatus(status);
@@ -70,11 +111,6 @@ public class TransactionRepositoryImpl implements TransactionRepository {
         transactionJpaRepository.deleteById(id);
     }
 
-    @Override
-    public boolean existsByTransactionNumber(String transactionNumber) {
-        return transactionJpaRepository.existsByTransactionNumber(transactionNumber);
-    }
-
     @Override
     public List<Transaction> findTransactionsByUserAndType(Long userId, Transaction.TransactionType type) {
         return transactionJpaRepository.findTransactionsByUserAndType(userId, type);
@@ -94,4 +130,59 @@ public class TransactionRepositoryImpl implements TransactionRepository {
     public List<Transaction> findPendingTransactionsByUserId(Long userId) {
         return transactionJpaRepository.findPendingTransactionsByUserId(userId);
     }
-} 
\ No newline at end of file
+
+    @Override
+    public List<TransactionSummary> findPendingSummaries() {
+        return transactionJpaRepository.findPendingSummaries();
+    }
+
+    @Override
+    public Optional<Long> findAccountIdById(Long id) {
+        return transactionJpaRepository.findAccountIdById(id);
+    }
+
+    @Override
+    public List<PendingTransactionRef> findPendingChunk(Long afterId, int limit) {
+        return transactionJpaRepository.findPendingChunk(afterId, PageRequest.ofSize(limit));
+    }
+
+    @Override
+    public List<Transaction> findByIdsAndStatusForUpdate(List<Long> ids, Transaction.TransactionStatus status) {
+        return transactionJpaRepository.findByIdsAndStatusForUpdate(ids, status);
+    }
+
+    @Override
+    public int markProcessingIfPending(Long id) {
+        return transactionJpaRepository.markProcessingIfPending(id);
+    }
+
+    @Override
+    public List<PendingTransactionRef> claimPending(int limit) {
+        List<Object[]> rows = transactionJpaRepository.claimPending(limit);
+        List<PendingTransactionRef> claimed = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            claimed.add(new PendingTransactionRef(
+                    ((Number) row[0]).longValue(),
+                    row[1] != null ? ((Number) row[1]).longValue() : null,
+                    toLocalDateTime(row[2])));
+        }
+        return claimed;
+    }
+
+    @Override
+    public int releaseStaleClaims(LocalDateTime cutoff) {
+        return transactionJpaRepository.releaseStaleClaims(cutoff);
+    }
+
+    @Override
+    public Optional<LocalDateTime> findOldestPendingCreatedAt() {
+        return transactionJpaRepository.findOldestPendingCreatedAt();
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+}
@@ -1,9 +1,13 @@
 package com.mybank.domains.transaction.presentation.controller;
 
+import com.mybank.domains.transaction.application.dto.AuditExportFilter;
 import com.mybank.domains.transaction.application.dto.TransactionAuditResponse;
 import com.mybank.domains.transaction.application.service.TransactionAuditApplicationService;
+import com.mybank.domains.transaction.application.service.TransactionAuditExportService;
 import com.mybank.domains.transaction.domain.entity.TransactionAudit;
 import com.mybank.shared.dto.ApiResponse;
+import com.mybank.shared.export.ExportFormat;
+import com.mybank.shared.export.ExportResponses;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -15,6 +19,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -28,6 +33,7 @@ import java.util.Map;
 public class TransactionAuditController {
 
     private final TransactionAuditApplicationService transactionAuditApplicationService;
+    private final TransactionAuditExportService transactionAuditExportService;
 
     @GetMapping("/transaction/{transactionId}")
     @Operation(summary = "Obtener historial de auditoría de una transacción", 
@@ -275,4 +281,42 @@ public class TransactionAuditController {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
-} 
\ No newline at end of file
+
+    @GetMapping("/export")
+    @Operation(summary = "Exportar auditoría", 
+               description = "Descarga en streaming (NDJSON o CSV) los eventos de auditoría que cumplen exactamente un filtro: " +
+                             "rango de fechas, tipo de evento, cuenta, término de búsqueda, IP o sesión")
+    public ResponseEntity<StreamingResponseBody> exportAuditHistory(
+            @Parameter(description = "Fecha de inicio (yyyy-MM-dd'T'HH:mm:ss)") 
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "Fecha de fin (yyyy-MM-dd'T'HH:mm:ss)") 
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "Tipo de evento de auditoría") 
+            @RequestParam(required = false) TransactionAudit.AuditEventType eventType,
+            @Parameter(description = "ID de la cuenta") 
+            @RequestParam(required = false) Long accountId,
+            @Parameter(description = "Término de búsqueda en la descripción") 
+            @RequestParam(required = false) String searchTerm,
+            @Parameter(description = "Dirección IP") 
+            @RequestParam(required = false) String ipAddress,
+            @Parameter(description = "ID de sesión") 
+            @RequestParam(required = false) String sessionId,
+            @Parameter(description = "Formato: ndjson o csv") 
+            @RequestParam(defaultValue = "ndjson") String format) {
+        AuditExportFilter filter = new AuditExportFilter();
+        filter.setStartDate(startDate);
+        filter.setEndDate(endDate);
+        filter.setEventType(eventType);
+        filter.setAccountId(accountId);
+        filter.setSearchTerm(searchTerm);
+        filter.setIpAddress(ipAddress);
+        filter.setSessionId(sessionId);
+        log.info("Exporting audit history with filter: {}", filter);
+
+        // Se valida antes de empezar a escribir, para poder responder 400
+        filter.validate();
+        ExportFormat exportFormat = ExportFormat.from(format);
+        return ExportResponses.attachment("transaction-audit", exportFormat,
+                out -> transactionAuditExportService.export(filter, exportFormat, out));
+    }
+}
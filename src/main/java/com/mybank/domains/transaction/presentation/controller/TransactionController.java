@@ -1,9 +1,17 @@
 package com.mybank.domains.transaction.presentation.controller;
 
+import com.mybank.domains.transaction.application.dto.BatchProcessingResult;
 import com.mybank.domains.transaction.application.dto.CreateTransactionRequest;
+import com.mybank.domains.transaction.application.dto.TransactionPageResponse;
 import com.mybank.domains.transaction.application.dto.TransactionResponse;
+import com.mybank.domains.transaction.application.service.TransactionExportService;
+import com.mybank.domains.transaction.application.service.TransactionBatchProcessor;
+import com.mybank.domains.transaction.application.service.TransactionProcessingEngine;
 import com.mybank.domains.transaction.application.service.TransactionService;
 import com.mybank.shared.dto.ApiResponse;
+import com.mybank.shared.export.ExportFormat;
+import com.mybank.shared.export.ExportResponses;
+import com.mybank.shared.security.CurrentUserId;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -13,6 +21,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -25,19 +34,24 @@ import java.util.List;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionProcessingEngine transactionProcessingEngine;
+    private final TransactionBatchProcessor transactionBatchProcessor;
+    private final TransactionExportService transactionExportService;
 
     @PostMapping
     @Operation(summary = "Crear una nueva transacción", description = "Crea una nueva transacción bancaria")
     public ResponseEntity<ApiResponse<TransactionResponse>> createTransaction(
             @Valid @RequestBody CreateTransactionRequest request,
-            @Parameter(description = "ID del usuario que realiza la transacción") 
-            @RequestParam Long userId) {
+            @Parameter(description = "Clave para reintentar sin duplicar la transacción")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @Parameter(hidden = true)
+            @CurrentUserId Long userId) {
         
         log.info("Received transaction creation request for user: {}, type: {}, amount: {}, accountId: {}", 
                 userId, request.getType(), request.getAmount(), request.getAccountId());
         
         try {
-            TransactionResponse transaction = transactionService.createTransaction(request, userId);
+            TransactionResponse transaction = transactionService.createTransaction(request, userId, idempotencyKey);
             return ResponseEntity.ok(ApiResponse.success("Transaction created successfully", transaction));
         } catch (Exception e) {
             log.error("Error creating transaction: {}", e.getMessage(), e);
@@ -54,7 +68,7 @@ public class TransactionController {
         log.info("Received transaction processing request for ID: {}", transactionId);
         
         try {
-            TransactionResponse transaction = transactionService.processTransaction(transactionId);
+            TransactionResponse transaction = transactionProcessingEngine.process(transactionId);
             return ResponseEntity.ok(ApiResponse.success("Transaction processed successfully", transaction));
         } catch (Exception e) {
             log.error("Error processing transaction: {}", e.getMessage());
@@ -62,6 +76,23 @@ public class TransactionController {
         }
     }
 
+    @PostMapping("/process-pending")
+    @Operation(summary = "Procesar transacciones pendientes por lotes", description = "Procesa las transacciones pendientes agrupadas por cuenta y retorna un resumen de throughput")
+    public ResponseEntity<ApiResponse<BatchProcessingResult>> processPendingTransactions(
+            @Parameter(description = "Máximo de transacciones a procesar en esta corrida (opcional)")
+            @RequestParam(required = false) Integer max) {
+        
+        log.info("Received batch processing request (max: {})", max);
+        
+        try {
+            BatchProcessingResult result = transactionBatchProcessor.processPending(max);
+            return ResponseEntity.ok(ApiResponse.success("Pending transactions processed", result));
+        } catch (Exception e) {
+            log.error("Error processing pending transactions: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     @GetMapping("/{transactionId}")
     @Operation(summary = "Obtener transacción por ID", description = "Obtiene los detalles de una transacción específica")
     public ResponseEntity<ApiResponse<TransactionResponse>> getTransactionById(
@@ -97,15 +128,19 @@ public class TransactionController {
     }
 
     @GetMapping("/user/{userId}")
-    @Operation(summary = "Obtener transacciones por usuario", description = "Obtiene todas las transacciones de un usuario específico")
-    public ResponseEntity<ApiResponse<List<TransactionResponse>>> getTransactionsByUserId(
+    @Operation(summary = "Obtener transacciones por usuario", description = "Obtiene las transacciones de un usuario específico, paginadas por cursor de la más reciente a la más antigua")
+    public ResponseEntity<ApiResponse<TransactionPageResponse>> getTransactionsByUserId(
             @Parameter(description = "ID del usuario") 
-            @PathVariable Long userId) {
+            @PathVariable Long userId,
+            @Parameter(description = "Cursor de continuación devuelto por la página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (máximo 200)")
+            @RequestParam(defaultValue = "50") int limit) {
         
         log.info("Getting transactions for user: {}", userId);
         
         try {
-            List<TransactionResponse> transactions = transactionService.getTransactionsByUserId(userId);
+            TransactionPageResponse transactions = transactionService.getTransactionsByUserId(userId, cursor, limit);
             return ResponseEntity.ok(ApiResponse.success("Transactions retrieved successfully", transactions));
         } catch (Exception e) {
             log.error("Error getting transactions: {}", e.getMessage());
@@ -115,18 +150,23 @@ public class TransactionController {
 
     @GetMapping("/user/{userId}/date-range")
     @Operation(summary = "Obtener transacciones por usuario y rango de fechas", description = "Obtiene las transacciones de un usuario en un rango de fechas específico")
-    public ResponseEntity<ApiResponse<List<TransactionResponse>>> getTransactionsByUserIdAndDateRange(
+    public ResponseEntity<ApiResponse<TransactionPageResponse>> getTransactionsByUserIdAndDateRange(
             @Parameter(description = "ID del usuario") 
             @PathVariable Long userId,
             @Parameter(description = "Fecha de inicio (yyyy-MM-dd'T'HH:mm:ss)") 
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @Parameter(description = "Fecha de fin (yyyy-MM-dd'T'HH:mm:ss)") 
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "Cursor de continuación devuelto por la página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (máximo 200)")
+            @RequestParam(defaultValue = "50") int limit) {
         
         log.info("Getting transactions for user: {} between {} and {}", userId, startDate, endDate);
         
         try {
-            List<TransactionResponse> transactions = transactionService.getTransactionsByUserIdAndDateRange(userId, startDate, endDate);
+            TransactionPageResponse transactions = transactionService.getTransactionsByUserIdAndDateRange(
+                    userId, startDate, endDate, cursor, limit);
             return ResponseEntity.ok(ApiResponse.success("Transactions retrieved successfully", transactions));
         } catch (Exception e) {
             log.error("Error getting transactions: {}", e.getMessage());
@@ -135,15 +175,19 @@ public class TransactionController {
     }
 
     @GetMapping("/account/{accountId}")
-    @Operation(summary = "Obtener transacciones por cuenta", description = "Obtiene todas las transacciones de una cuenta específica")
-    public ResponseEntity<ApiResponse<List<TransactionResponse>>> getTransactionsByAccountId(
+    @Operation(summary = "Obtener transacciones por cuenta", description = "Obtiene las transacciones de una cuenta específica, paginadas por cursor de la más reciente a la más antigua")
+    public ResponseEntity<ApiResponse<TransactionPageResponse>> getTransactionsByAccountId(
             @Parameter(description = "ID de la cuenta") 
-            @PathVariable Long accountId) {
+            @PathVariable Long accountId,
+            @Parameter(description = "Cursor de continuación devuelto por la página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (máximo 200)")
+            @RequestParam(defaultValue = "50") int limit) {
         
         log.info("Getting transactions for account: {}", accountId);
         
         try {
-            List<TransactionResponse> transactions = transactionService.getTransactionsByAccountId(accountId);
+            TransactionPageResponse transactions = transactionService.getTransactionsByAccountId(accountId, cursor, limit);
             return ResponseEntity.ok(ApiResponse.success("Transactions retrieved successfully", transactions));
         } catch (Exception e) {
             log.error("Error getting transactions: {}", e.getMessage());
@@ -151,6 +195,36 @@ public class TransactionController {
         }
     }
 
+    @GetMapping("/user/{userId}/export")
+    @Operation(summary = "Exportar transacciones por usuario", description = "Descarga el historial completo de un usuario como NDJSON o CSV, en streaming")
+    public ResponseEntity<StreamingResponseBody> exportTransactionsByUserId(
+            @Parameter(description = "ID del usuario") 
+            @PathVariable Long userId,
+            @Parameter(description = "Formato: ndjson o csv") 
+            @RequestParam(defaultValue = "ndjson") String format) {
+        
+        log.info("Exporting transactions for user: {}", userId);
+        
+        ExportFormat exportFormat = ExportFormat.from(format);
+        return ExportResponses.attachment("transactions-user-" + userId, exportFormat,
+                out -> transactionExportService.exportByUserId(userId, exportFormat, out));
+    }
+
+    @GetMapping("/account/{accountId}/export")
+    @Operation(summary = "Exportar transacciones por cuenta", description = "Descarga el historial completo de una cuenta como NDJSON o CSV, en streaming")
+    public ResponseEntity<StreamingResponseBody> exportTransactionsByAccountId(
+            @Parameter(description = "ID de la cuenta") 
+            @PathVariable Long accountId,
+            @Parameter(description = "Formato: ndjson o csv") 
+            @RequestParam(defaultValue = "ndjson") String format) {
+        
+        log.info("Exporting transactions for account: {}", accountId);
+        
+        ExportFormat exportFormat = ExportFormat.from(format);
+        return ExportResponses.attachment("transactions-account-" + accountId, exportFormat,
+                out -> transactionExportService.exportByAccountId(accountId, exportFormat, out));
+    }
+
     @GetMapping("/pending")
     @Operation(summary = "Obtener transacciones pendientes", description = "Obtiene todas las transacciones que están pendientes de procesar")
     public ResponseEntity<ApiResponse<List<TransactionResponse>>> getPendingTransactions() {
@@ -3,14 +3,17 @@ package com.mybank.domains.user.application.service;
 import com.mybank.domains.user.application.dto.UserRegistrationRequest;
 import com.mybank.domains.user.domain.entity.User;
 import com.mybank.domains.user.domain.service.UserDomainService;
+import com.mybank.shared.security.PasswordVerifier;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashSet;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -20,6 +23,7 @@ public class UserService {
 
     private final UserDomainService userDomainService;
     private final PasswordEncoder passwordEncoder;
+    private final PasswordVerifier passwordVerifier;
 
     public User registerUser(UserRegistrationRequest request) {
         log.info("Registering new user with username: {}", request.getUsername());
@@ -41,6 +45,14 @@ public class UserService {
         return userDomainService.createUser(user);
     }
 
+    public User updateStatus(Long userId, User.UserStatus status) {
+        return userDomainService.updateStatus(userId, status);
+    }
+
+    public User updateRoles(Long userId, Set<String> roles) {
+        return userDomainService.updateRoles(userId, roles);
+    }
+
     public Optional<User> findByUsername(String username) {
         return userDomainService.findByUsername(username);
     }
@@ -66,6 +78,31 @@ public class UserService {
     }
 
     public boolean validatePassword(String rawPassword, String encodedPassword) {
-        return passwordEncoder.matches(rawPassword, encodedPassword);
+        return passwordVerifier.matches(rawPassword, encodedPassword);
+    }
+
+    /**
+     * Busca el usuario y verifica la contraseña en el pool de BCrypt. Corre sin transacción:
+     * la búsqueda devuelve su conexión al terminar y, con {@code spring.jpa.open-in-view}
+     * desactivado, no queda ninguna tomada por el request mientras se espera la verificación.
+     * Si el hash guardado usa otro costo, se recalcula en segundo plano.
+     *
+     * @return el usuario si las credenciales son válidas
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<User> authenticate(String usernameOrEmail, String rawPassword) {
+        Optional<User> userOpt = userDomainService.findByUsernameOrEmail(usernameOrEmail);
+        if (userOpt.isEmpty() || !passwordVerifier.matches(rawPassword, userOpt.get().getPassword())) {
+            return Optional.empty();
+        }
+
+        User user = userOpt.get();
+        if (passwordVerifier.needsRehash(user.getPassword())) {
+            Long userId = user.getId();
+            String verifiedHash = user.getPassword();
+            passwordVerifier.rehashInBackground(rawPassword,
+                    encoded -> userDomainService.updatePasswordHash(userId, verifiedHash, encoded));
+        }
+        return userOpt;
     }
 } 
\ No newline at end of file
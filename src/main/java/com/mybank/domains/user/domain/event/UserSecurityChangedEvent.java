@@ -0,0 +1,14 @@
+package com.mybank.domains.user.domain.event;
+
+import lombok.Value;
+
+/**
+ * Se publica cuando cambia el estado o los roles de un usuario,
+ * para que las vistas en caché de sus credenciales se invaliden.
+ */
+@Value
+public class UserSecurityChangedEvent {
+    Long userId;
+    String username;
+    String email;
+}
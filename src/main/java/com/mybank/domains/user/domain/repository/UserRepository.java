@@ -17,6 +17,9 @@ public interface UserRepository {
     
     Optional<User> findByUsernameOrEmail(String usernameOrEmail);
     
+    // Solo reemplaza el hash si sigue siendo el esperado; devuelve las filas actualizadas
+    int updatePasswordIfUnchanged(Long id, String expectedHash, String newHash);
+    
     User save(User user);
     
     Optional<User> findById(Long id);
@@ -1,13 +1,17 @@
 package com.mybank.domains.user.domain.service;
 
 import com.mybank.domains.user.domain.entity.User;
+import com.mybank.domains.user.domain.event.UserSecurityChangedEvent;
 import com.mybank.domains.user.domain.repository.UserRepository;
 import com.mybank.shared.exception.BusinessException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.util.HashSet;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -15,6 +19,7 @@ import java.util.Optional;
 public class UserDomainService {
 
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public User createUser(User user) {
         log.info("Creating new user with username: {}", user.getUsername());
@@ -34,6 +39,45 @@ public class UserDomainService {
         return savedUser;
     }
 
+    public User updateStatus(Long userId, User.UserStatus status) {
+        User user = findById(userId);
+        log.info("Updating status of user {} from {} to {}", userId, user.getStatus(), status);
+
+        user.setStatus(status);
+        return saveSecurityChange(user);
+    }
+
+    public User updateRoles(Long userId, Set<String> roles) {
+        User user = findById(userId);
+        log.info("Updating roles of user {} to {}", userId, roles);
+
+        user.setRoles(new HashSet<>(roles));
+        return saveSecurityChange(user);
+    }
+
+    // Todo cambio de estado o roles debe pasar por aquí para invalidar las credenciales en caché
+    private User saveSecurityChange(User user) {
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(
+                savedUser.getId(), savedUser.getUsername(), savedUser.getEmail()));
+        return savedUser;
+    }
+
+    /**
+     * Reemplaza el hash de la contraseña sin cambiarla (p. ej. al subir el costo BCrypt).
+     * Es un UPDATE condicionado al hash verificado: si la contraseña cambió mientras tanto,
+     * no se pisa la nueva.
+     *
+     * @return true si se reemplazó el hash
+     */
+    public boolean updatePasswordHash(Long userId, String verifiedHash, String encodedPassword) {
+        boolean updated = userRepository.updatePasswordIfUnchanged(userId, verifiedHash, encodedPassword) == 1;
+        if (!updated) {
+            log.debug("Skipped password rehash for user {}: password changed since verification", userId);
+        }
+        return updated;
+    }
+
     public User findById(Long id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new BusinessException("User not found", "USER_NOT_FOUND", "USER"));
@@ -2,9 +2,11 @@ package com.mybank.domains.user.infrastructure.persistence;
 
 import com.mybank.domains.user.domain.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -21,4 +23,12 @@ public interface UserJpaRepository extends JpaRepository<User, Long> {
     
     @Query("SELECT u FROM User u WHERE u.username = :usernameOrEmail OR u.email = :usernameOrEmail")
     Optional<User> findByUsernameOrEmail(@Param("usernameOrEmail") String usernameOrEmail);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newHash, u.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE u.id = :id AND u.password = :expectedHash")
+    int updatePasswordIfUnchanged(@Param("id") Long id,
+                                  @Param("expectedHash") String expectedHash,
+                                  @Param("newHash") String newHash);
 } 
\ No newline at end of file
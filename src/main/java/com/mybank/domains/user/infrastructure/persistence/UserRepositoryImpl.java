@@ -39,6 +39,11 @@ public class UserRepositoryImpl implements UserRepository {
         return userJpaRepository.findByUsernameOrEmail(usernameOrEmail);
     }
 
+    @Override
+    public int updatePasswordIfUnchanged(Long id, String expectedHash, String newHash) {
+        return userJpaRepository.updatePasswordIfUnchanged(id, expectedHash, newHash);
+    }
+
     @Override
     public User save(User user) {
         return userJpaRepository.save(user);
@@ -6,12 +6,20 @@ import com.mybank.domains.user.application.dto.LoginRequest;
 import com.mybank.domains.user.application.dto.UserRegistrationRequest;
 import com.mybank.domains.user.domain.entity.User;
 import com.mybank.domains.user.application.service.UserService;
+import com.mybank.shared.exception.RateLimitExceededException;
+import com.mybank.shared.exception.ServiceOverloadedException;
 import com.mybank.shared.security.JwtService;
+import com.mybank.shared.security.LoginRateLimiter;
+import com.mybank.shared.security.TokenDenyList;
+import io.jsonwebtoken.Claims;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -26,6 +34,8 @@ public class AuthController {
 
     private final UserService userService;
     private final JwtService jwtService;
+    private final TokenDenyList tokenDenyList;
+    private final LoginRateLimiter loginRateLimiter;
 
     @PostMapping("/register")
     @Operation(summary = "Register a new user", description = "Creates a new user account")
@@ -43,33 +53,23 @@ public class AuthController {
 
     @PostMapping("/login")
     @Operation(summary = "User login", description = "Authenticates a user and returns JWT token")
-    public ResponseEntity<ApiResponse<LoginResponse>> login(@Valid @RequestBody LoginRequest request) {
-        log.info("Received login request for user: {}", request.getUsernameOrEmail());
-        
+    public ResponseEntity<ApiResponse<LoginResponse>> login(@Valid @RequestBody LoginRequest request,
+                                                           HttpServletRequest httpRequest) {
         try {
-            // Buscar el usuario
-            Optional<User> userOpt = userService.findByUsernameOrEmail(request.getUsernameOrEmail());
-            log.info("User found: {}", userOpt.isPresent());
-            
+            // Antes de cualquier consulta o BCrypt
+            loginRateLimiter.check(request.getUsernameOrEmail(), httpRequest.getRemoteAddr());
+
+            Optional<User> userOpt = userService.authenticate(request.getUsernameOrEmail(), request.getPassword());
             if (userOpt.isEmpty()) {
-                log.error("User not found for: {}", request.getUsernameOrEmail());
+                log.debug("Invalid credentials for: {}", request.getUsernameOrEmail());
                 return ResponseEntity.badRequest().body(ApiResponse.error("Invalid username or password"));
             }
             
             User user = userOpt.get();
-            log.info("User found with ID: {}, username: {}", user.getId(), user.getUsername());
-            
-            // Validar contraseña
-            boolean passwordValid = userService.validatePassword(request.getPassword(), user.getPassword());
-            log.info("Password validation result: {}", passwordValid);
-            
-            if (!passwordValid) {
-                log.error("Invalid password for user: {}", user.getUsername());
-                return ResponseEntity.badRequest().body(ApiResponse.error("Invalid username or password"));
-            }
             
-            // Generar token JWT con userId incluido
-            String token = jwtService.generateToken(user.getUsername(), user.getId());
+            // Generar token JWT con userId, roles y estado incluidos
+            String token = jwtService.generateToken(user.getUsername(), user.getId(),
+                    user.getRoles(), user.getStatus().name());
             
             // Crear respuesta
             LoginResponse loginResponse = new LoginResponse(
@@ -82,13 +82,40 @@ public class AuthController {
                     user.getLastName()
             );
             
+            log.debug("Login successful for user {}", user.getId());
             return ResponseEntity.ok(ApiResponse.success("Login successful", loginResponse));
+        } catch (RateLimitExceededException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (ServiceOverloadedException e) {
+            // Sin capacidad para verificar: el cliente debe reintentar, no son credenciales inválidas
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             log.error("Error during login: {}", e.getMessage(), e);
             return ResponseEntity.badRequest().body(ApiResponse.error("Invalid username or password"));
         }
     }
 
+    @PostMapping("/logout")
+    @Operation(summary = "User logout", description = "Revokes the JWT token sent in the Authorization header")
+    public ResponseEntity<ApiResponse<String>> logout(@RequestHeader("Authorization") String authHeader) {
+        try {
+            if (!authHeader.startsWith("Bearer ")) {
+                return ResponseEntity.badRequest().body(ApiResponse.error("Invalid authorization header"));
+            }
+
+            Claims claims = jwtService.extractAllClaims(authHeader.substring(7));
+            tokenDenyList.revokeToken(claims);
+            return ResponseEntity.ok(ApiResponse.success("Logout successful"));
+        } catch (Exception e) {
+            log.error("Error during logout: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error("Invalid token"));
+        }
+    }
+
     @GetMapping("/health")
     @Operation(summary = "Health check", description = "Check if the authentication service is running")
     public ResponseEntity<ApiResponse<String>> health() {
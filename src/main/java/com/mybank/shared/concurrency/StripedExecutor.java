@@ -0,0 +1,116 @@
+package com.mybank.shared.concurrency;
+
+import com.mybank.shared.exception.ServiceOverloadedException;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Reparte tareas en N carriles de un solo hilo según una llave (p. ej. el id de la cuenta).
+ * Las tareas con la misma llave se ejecutan una tras otra en orden de llegada; las de
+ * llaves en carriles distintos corren en paralelo. Cada carril usa un hilo virtual.
+ * <p>
+ * Quien llama espera su resultado como máximo {@code taskTimeout}: si el carril está
+ * atascado falla rápido en lugar de acumular hilos (y conexiones) esperando.
+ */
+public class StripedExecutor implements AutoCloseable {
+
+    private final ExecutorService[] lanes;
+    private final long timeoutNanos;
+
+    // Carril en el que corre el hilo actual, para ejecutar en línea las llamadas anidadas
+    private final ThreadLocal<Integer> currentLane = new ThreadLocal<>();
+
+    public StripedExecutor(String name, int laneCount, Duration taskTimeout) {
+        if (laneCount <= 0) {
+            throw new IllegalArgumentException("Lane count must be greater than zero");
+        }
+        if (taskTimeout.isZero() || taskTimeout.isNegative()) {
+            throw new IllegalArgumentException("Task timeout must be greater than zero");
+        }
+        this.timeoutNanos = taskTimeout.toNanos();
+        this.lanes = new ExecutorService[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            int lane = i;
+            lanes[i] = Executors.newSingleThreadExecutor(
+                    Thread.ofVirtual().name(name + "-lane-" + lane).factory());
+        }
+    }
+
+    public int laneCount() {
+        return lanes.length;
+    }
+
+    public int laneOf(long key) {
+        return Math.floorMod(Long.hashCode(key), lanes.length);
+    }
+
+    /**
+     * Ejecuta la tarea en el carril de la llave y espera su resultado. Las excepciones
+     * de la tarea se relanzan tal cual en el hilo que llama.
+     *
+     * @throws ServiceOverloadedException si el resultado no llega dentro del timeout; la tarea
+     *         se descarta si aún no empezó y, si ya corre, termina sin interrumpirse
+     */
+    public <T> T execute(long key, Supplier<T> task) {
+        int lane = laneOf(key);
+        Integer runningLane = currentLane.get();
+        if (runningLane != null && runningLane == lane) {
+            // Una tarea del mismo carril no puede esperar a otra encolada detrás de ella
+            return task.get();
+        }
+
+        Future<T> future = lanes[lane].submit(() -> {
+            currentLane.set(lane);
+            try {
+                return task.get();
+            } finally {
+                currentLane.remove();
+            }
+        });
+
+        try {
+            return future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Sin interrumpir: cortar una tarea a mitad de su transacción deja la conexión en mal estado
+            future.cancel(false);
+            throw new ServiceOverloadedException("Timed out waiting for lane " + lane, "PROCESSING");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for lane " + lane, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+        for (ExecutorService lane : lanes) {
+            try {
+                if (!lane.awaitTermination(30, TimeUnit.SECONDS)) {
+                    lane.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                lane.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.mybank.shared.config;
+
+import com.mybank.shared.concurrency.BoundedDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Envuelve el {@link DataSource} en un {@link BoundedDataSource} cuando
+ * {@code mybank.db.concurrency.enabled=true}, pensado para el perfil {@code virtual}:
+ * los requests corren en hilos virtuales y el semáforo es lo que acota el acceso a la base.
+ */
+@Configuration
+@ConditionalOnProperty(name = "mybank.db.concurrency.enabled", havingValue = "true")
+public class DatabaseConcurrencyConfig {
+
+    @Bean
+    public static BeanPostProcessor boundedDataSourcePostProcessor(
+            @Value("${mybank.db.concurrency.max-concurrent:10}") int maxConcurrent,
+            @Value("${mybank.db.concurrency.acquire-timeout-ms:3000}") long acquireTimeoutMs) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof BoundedDataSource)) {
+                    return new BoundedDataSource(dataSource, maxConcurrent, acquireTimeoutMs);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder boundedDataSourceMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof BoundedDataSource bounded) {
+                Gauge.builder("mybank.db.permits.available", bounded, BoundedDataSource::getAvailablePermits)
+                        .description("Permisos de conexión libres")
+                        .register(registry);
+                Gauge.builder("mybank.db.permits.waiting", bounded, BoundedDataSource::getWaitingThreads)
+                        .description("Hilos esperando un permiso de conexión")
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package com.mybank.shared.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Identifica qué restricción provocó un {@link DataIntegrityViolationException}, para traducir
+ * a un error de negocio solo la violación esperada y dejar pasar el resto tal cual.
+ */
+public final class ConstraintViolations {
+
+    // SQLState de PostgreSQL para unique_violation
+    static final String UNIQUE_VIOLATION = "23505";
+
+    private ConstraintViolations() {
+    }
+
+    /**
+     * @return true si la causa es una violación de unicidad de la restricción indicada
+     */
+    public static boolean isUniqueViolation(DataIntegrityViolationException exception, String constraintName) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return UNIQUE_VIOLATION.equals(violation.getSQLState())
+                        && constraintName.equalsIgnoreCase(violation.getConstraintName());
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,8 @@
+package com.mybank.shared.exception;
+
+public class InsufficientFundsException extends BusinessException {
+
+    public InsufficientFundsException(String message, String domain) {
+        super(message, "INSUFFICIENT_FUNDS", domain);
+    }
+}
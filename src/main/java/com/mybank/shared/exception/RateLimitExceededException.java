@@ -0,0 +1,17 @@
+package com.mybank.shared.exception;
+
+import lombok.Getter;
+
+/**
+ * Se superó un límite de frecuencia; el cliente puede reintentar pasados {@code retryAfterSeconds}.
+ */
+@Getter
+public class RateLimitExceededException extends BusinessException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, String domain, long retryAfterSeconds) {
+        super(message, "RATE_LIMIT_EXCEEDED", domain);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
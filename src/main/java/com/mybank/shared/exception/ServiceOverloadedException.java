@@ -0,0 +1,11 @@
+package com.mybank.shared.exception;
+
+/**
+ * La petición se rechazó por falta de capacidad y puede reintentarse más tarde.
+ */
+public class ServiceOverloadedException extends BusinessException {
+
+    public ServiceOverloadedException(String message, String domain) {
+        super(message, "SERVICE_OVERLOADED", domain);
+    }
+}
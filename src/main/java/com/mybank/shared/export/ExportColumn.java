@@ -0,0 +1,14 @@
+package com.mybank.shared.export;
+
+import lombok.Value;
+
+import java.util.function.Function;
+
+/**
+ * Columna de una exportación CSV: encabezado y cómo obtener el valor de cada fila.
+ */
+@Value
+public class ExportColumn<T> {
+    String header;
+    Function<T, Object> value;
+}
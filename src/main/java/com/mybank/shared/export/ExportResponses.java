@@ -0,0 +1,25 @@
+package com.mybank.shared.export;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+public final class ExportResponses {
+
+    private ExportResponses() {
+    }
+
+    /**
+     * Respuesta de descarga. El cuerpo se escribe fuera del hilo del request, así que
+     * cualquier transacción de lectura debe abrirse dentro de {@code body}.
+     */
+    public static ResponseEntity<StreamingResponseBody> attachment(String fileName, ExportFormat format,
+                                                                   StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + fileName + "." + format.getExtension() + "\"")
+                .body(body);
+    }
+}
@@ -0,0 +1,95 @@
+package com.mybank.shared.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Escribe un {@link Stream} de filas como NDJSON o CSV directamente en la respuesta.
+ * Las filas se consumen una a una y la salida se vacía cada {@link #FLUSH_EVERY} filas,
+ * así la memoria no depende del tamaño de la exportación.
+ */
+@Component
+@RequiredArgsConstructor
+public class StreamingExporter {
+
+    static final int FLUSH_EVERY = 500;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @return cantidad de filas escritas
+     */
+    public <T> long write(Stream<T> rows, ExportFormat format, List<ExportColumn<T>> columns, OutputStream out) {
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            if (format == ExportFormat.CSV) {
+                writeCsvHeader(writer, columns);
+            }
+
+            long count = 0;
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                T row = iterator.next();
+                if (format == ExportFormat.CSV) {
+                    writeCsvRow(writer, columns, row);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                    writer.write('\n');
+                }
+                if (++count % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+            writer.flush();
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> void writeCsvHeader(Writer writer, List<ExportColumn<T>> columns) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(columns.get(i).getHeader()));
+        }
+        writer.write("\r\n");
+    }
+
+    private <T> void writeCsvRow(Writer writer, List<ExportColumn<T>> columns, T row) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = columns.get(i).getValue().apply(row);
+            if (value != null) {
+                writer.write(value instanceof CharSequence ? escapeCsv(value.toString()) : value.toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    static String escapeCsv(String value) {
+        // Evita que hojas de cálculo interpreten el texto como fórmula
+        if (!value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+}
@@ -0,0 +1,17 @@
+package com.mybank.shared.id;
+
+/**
+ * Genera identificadores numéricos únicos para números de negocio (transacciones, cuentas).
+ * Cada implementación garantiza la unicidad sin consultar la base de datos.
+ */
+public interface IdGenerator {
+
+    long nextId();
+
+    /**
+     * Número de negocio: el prefijo seguido del siguiente identificador en decimal.
+     */
+    default String nextNumber(String prefix) {
+        return prefix + nextId();
+    }
+}
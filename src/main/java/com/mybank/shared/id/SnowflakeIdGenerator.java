@@ -0,0 +1,54 @@
+package com.mybank.shared.id;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Generador estilo Snowflake: {@code [41 bits ms desde EPOCH][10 bits nodo][12 bits secuencia]}.
+ * <p>
+ * Es único por nodo sin aleatoriedad ni bloqueos: el par (milisegundo, secuencia) avanza con
+ * un CAS y nunca retrocede. Si la secuencia se agota dentro de un milisegundo, o el reloj del
+ * sistema retrocede, se toma prestado el milisegundo siguiente en lugar de esperar.
+ * Cada instancia debe tener un {@code mybank.id.node-id} distinto.
+ */
+@Component
+@Slf4j
+public class SnowflakeIdGenerator implements IdGenerator {
+
+    public static final long EPOCH = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    public static final int NODE_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+
+    private final long nodeBits;
+    private final LongSupplier clock;
+    // Último (milisegundo << SEQUENCE_BITS | secuencia) entregado
+    private final AtomicLong lastTick = new AtomicLong();
+
+    public SnowflakeIdGenerator(@Value("${mybank.id.node-id:0}") long nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    SnowflakeIdGenerator(long nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("mybank.id.node-id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeBits = nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+        log.info("Snowflake id generator initialized for node {}", nodeId);
+    }
+
+    @Override
+    public long nextId() {
+        long now = (clock.getAsLong() - EPOCH) << SEQUENCE_BITS;
+        long tick = lastTick.updateAndGet(last -> Math.max(last + 1, now));
+        long millis = tick >>> SEQUENCE_BITS;
+        long sequence = tick & ((1L << SEQUENCE_BITS) - 1);
+        return (millis << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | sequence;
+    }
+}
@@ -0,0 +1,265 @@
+package com.mybank.shared.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mybank.shared.exception.BusinessException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Almacén de claves de idempotencia: un LRU en memoria delante de la tabla
+ * {@code idempotency_keys}, cuya llave primaria garantiza una sola ejecución por clave.
+ * <p>
+ * Una repetición con la misma clave y el mismo cuerpo devuelve la respuesta guardada sin
+ * volver a ejecutar la operación. Si dos peticiones con la misma clave llegan a la vez,
+ * el {@code INSERT ... ON CONFLICT DO NOTHING} de la segunda espera a que la primera
+ * confirme y luego devuelve su respuesta.
+ * <p>
+ * Un error de la operación libera la clave, salvo los rechazos que se confirman igual
+ * (p. ej. fondos insuficientes): esos se guardan y se repiten en cada reintento.
+ */
+@Component
+@Slf4j
+public class IdempotencyStore implements MeterBinder {
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private static final String SELECT_SQL = "SELECT request_hash, response_body, failed FROM idempotency_keys " +
+            "WHERE scope = ? AND user_id = ? AND idempotency_key = ?";
+    private static final String CLAIM_SQL = "INSERT INTO idempotency_keys (scope, user_id, idempotency_key, request_hash, created_at) " +
+            "VALUES (?, ?, ?, ?, ?) ON CONFLICT DO NOTHING";
+    private static final String COMPLETE_SQL = "UPDATE idempotency_keys SET response_body = ?, failed = ? " +
+            "WHERE scope = ? AND user_id = ? AND idempotency_key = ?";
+    private static final String RELEASE_SQL = "DELETE FROM idempotency_keys " +
+            "WHERE scope = ? AND user_id = ? AND idempotency_key = ? AND response_body IS NULL";
+    private static final String PURGE_SQL = "DELETE FROM idempotency_keys WHERE created_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration retention;
+    private final Cache<String, StoredResponse> cache;
+    private ScheduledExecutorService purger;
+
+    public IdempotencyStore(JdbcTemplate jdbcTemplate,
+                            ObjectMapper objectMapper,
+                            @Value("${mybank.idempotency.cache.max-size:10000}") long cacheMaxSize,
+                            @Value("${mybank.idempotency.retention-ms:86400000}") long retentionMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.retention = Duration.ofMillis(retentionMs);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(retention)
+                .recordStats()
+                .build();
+    }
+
+    @PostConstruct
+    public void start() {
+        purger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "idempotency-purger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long periodMs = Math.max(60_000, retention.toMillis() / 24);
+        purger.scheduleWithFixedDelay(this::purgeExpired, periodMs, periodMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (purger != null) {
+            purger.shutdownNow();
+        }
+    }
+
+    /**
+     * Ejecuta la operación una sola vez por {@code (scope, userId, key)}. Debe llamarse
+     * dentro de la transacción de la operación: la clave y el resultado se confirman
+     * (o se descartan) junto con ella.
+     *
+     * @throws BusinessException si la clave es inválida o ya se usó con otro cuerpo
+     */
+    public <T> T execute(String scope, Long userId, String key, Object request,
+                         Class<T> responseType, Supplier<T> operation) {
+        return execute(scope, userId, key, request, responseType, null, operation);
+    }
+
+    /**
+     * Igual que {@link #execute(String, Long, String, Object, Class, Supplier)}, pero un
+     * {@code committedFailure} lanzado por la operación queda guardado con la clave: la
+     * transacción lo confirma y cada reintento recibe el mismo error sin volver a ejecutar.
+     */
+    public <T> T execute(String scope, Long userId, String key, Object request, Class<T> responseType,
+                         Class<? extends BusinessException> committedFailure, Supplier<T> operation) {
+        validateKey(key);
+        String cacheKey = scope + ':' + userId + ':' + key;
+        String requestHash = hash(request);
+
+        StoredResponse stored = cache.getIfPresent(cacheKey);
+        if (stored == null) {
+            stored = find(scope, userId, key);
+        }
+        if (stored == null) {
+            int claimed = jdbcTemplate.update(CLAIM_SQL, scope, userId, key, requestHash,
+                    Timestamp.valueOf(LocalDateTime.now()));
+            if (claimed == 0) {
+                // Otra petición con la misma clave confirmó mientras esperábamos
+                stored = find(scope, userId, key);
+            }
+        }
+        if (stored != null) {
+            return replay(cacheKey, stored, requestHash, responseType);
+        }
+
+        T response;
+        try {
+            response = operation.get();
+        } catch (BusinessException e) {
+            if (committedFailure != null && committedFailure.isInstance(e)) {
+                complete(scope, userId, key, cacheKey, requestHash,
+                        new StoredError(e.getMessage(), e.getErrorCode(), e.getDomain()), true);
+            } else {
+                release(scope, userId, key);
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            release(scope, userId, key);
+            throw e;
+        }
+        complete(scope, userId, key, cacheKey, requestHash, response, false);
+        return response;
+    }
+
+    public int purgeExpired() {
+        try {
+            int purged = jdbcTemplate.update(PURGE_SQL, Timestamp.valueOf(LocalDateTime.now().minus(retention)));
+            if (purged > 0) {
+                log.info("Purged {} expired idempotency keys", purged);
+            }
+            return purged;
+        } catch (RuntimeException e) {
+            log.error("Failed to purge idempotency keys: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    private void complete(String scope, Long userId, String key, String cacheKey, String requestHash,
+                          Object response, boolean failed) {
+        String body = toJson(response);
+        jdbcTemplate.update(COMPLETE_SQL, body, failed, scope, userId, key);
+        cacheAfterCommit(cacheKey, new StoredResponse(requestHash, body, failed));
+    }
+
+    private void release(String scope, Long userId, String key) {
+        // Si la transacción igual se confirma, la clave debe quedar libre para reintentar;
+        // si se revierte, la fila desaparece con ella
+        try {
+            jdbcTemplate.update(RELEASE_SQL, scope, userId, key);
+        } catch (DataAccessException e) {
+            log.debug("Idempotency key {} not released: {}", key, e.getMessage());
+        }
+    }
+
+    private <T> T replay(String cacheKey, StoredResponse stored, String requestHash, Class<T> responseType) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new BusinessException("Idempotency key was already used with a different request",
+                    "IDEMPOTENCY_KEY_REUSED", "IDEMPOTENCY");
+        }
+        if (stored.body() == null) {
+            throw new BusinessException("A request with this idempotency key is still in progress",
+                    "IDEMPOTENCY_KEY_IN_PROGRESS", "IDEMPOTENCY");
+        }
+        cache.put(cacheKey, stored);
+        log.debug("Replaying stored response for idempotency key {}", cacheKey);
+        try {
+            if (stored.failed()) {
+                StoredError error = objectMapper.readValue(stored.body(), StoredError.class);
+                throw new BusinessException(error.message(), error.errorCode(), error.domain());
+            }
+            return objectMapper.readValue(stored.body(), responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored idempotent response cannot be read", e);
+        }
+    }
+
+    private StoredResponse find(String scope, Long userId, String key) {
+        List<StoredResponse> rows = jdbcTemplate.query(SELECT_SQL,
+                (rs, rowNum) -> new StoredResponse(rs.getString("request_hash"), rs.getString("response_body"),
+                        rs.getBoolean("failed")),
+                scope, userId, key);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private void cacheAfterCommit(String cacheKey, StoredResponse stored) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.put(cacheKey, stored);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.put(cacheKey, stored);
+            }
+        });
+    }
+
+    private static void validateKey(String key) {
+        if (key == null || key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters",
+                    "INVALID_IDEMPOTENCY_KEY", "IDEMPOTENCY");
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Request cannot be hashed", e);
+        }
+    }
+
+    private String toJson(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Response cannot be stored", e);
+        }
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "idempotency");
+    }
+
+    private record StoredResponse(String requestHash, String body, boolean failed) {
+    }
+
+    private record StoredError(String message, String errorCode, String domain) {
+    }
+}
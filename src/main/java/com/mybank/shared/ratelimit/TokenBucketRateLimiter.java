@@ -0,0 +1,88 @@
+package com.mybank.shared.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets en memoria, uno por llave (usuario, IP, ...). Cada bucket admite ráfagas de
+ * hasta {@code capacity} tokens y recupera uno cada {@code refillInterval}.
+ * <p>
+ * Cada bucket es un único {@link AtomicLong} con el instante en que volvería a estar vacío
+ * (algoritmo GCRA, equivalente a un token bucket): consumir es un compare-and-set, sin
+ * locks. Los buckets inactivos se descartan al llenarse otra vez y el total de llaves está
+ * acotado por {@code maxKeys}; perder un bucket solo puede devolverle tokens a su llave.
+ */
+public class TokenBucketRateLimiter {
+
+    private final long capacity;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final LongSupplier clock;
+    private final Cache<String, AtomicLong> buckets;
+
+    public TokenBucketRateLimiter(long capacity, Duration refillInterval, long maxKeys) {
+        this(capacity, refillInterval, maxKeys, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(long capacity, Duration refillInterval, long maxKeys, LongSupplier clock) {
+        if (capacity <= 0 || refillInterval.isZero() || refillInterval.isNegative()) {
+            throw new IllegalArgumentException("Capacity and refill interval must be greater than zero");
+        }
+        this.capacity = capacity;
+        this.intervalNanos = refillInterval.toNanos();
+        this.burstNanos = intervalNanos * capacity;
+        this.clock = clock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                // Pasado este tiempo sin uso el bucket está lleno y equivale a uno nuevo
+                .expireAfterAccess(Duration.ofNanos(burstNanos))
+                .ticker(clock::getAsLong)
+                // El desalojo corre en el hilo que llama: el tope de llaves se respeta aun bajo ráfagas
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Intenta consumir un token de la llave.
+     *
+     * @return 0 si se concedió; si no, los nanosegundos hasta que haya un token disponible
+     */
+    public long tryAcquire(String key) {
+        AtomicLong emptyAt = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long now = clock.getAsLong();
+            long current = emptyAt.get();
+            long start = current == Long.MIN_VALUE || current - now < 0 ? now : current;
+            long next = start + intervalNanos;
+            long excess = next - now - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (emptyAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    public long estimatedKeys() {
+        return buckets.estimatedSize();
+    }
+
+    /**
+     * Publica tamaño, aciertos y desalojos del mapa de buckets como métricas de caché
+     */
+    public void monitor(MeterRegistry registry, String name) {
+        CaffeineCacheMetrics.monitor(registry, buckets, name);
+    }
+}
@@ -0,0 +1,123 @@
+package com.mybank.shared.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mybank.shared.dto.ApiResponse;
+import com.mybank.shared.ratelimit.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limita por usuario y por clase de endpoint las llamadas a {@code /transactions}, para que un
+ * cliente no acapare el pool de conexiones. Corre después del filtro JWT, así la llave es el
+ * userId autenticado; las peticiones sin autenticar no se cuentan (las rechaza la seguridad).
+ * Al agotarse el bucket responde {@code 429} con {@code Retry-After} sin llegar al controlador.
+ */
+@Component
+@Slf4j
+public class ApiRateLimitFilter extends OncePerRequestFilter {
+
+    private static final String TRANSACTIONS_PATH = "/transactions";
+
+    enum EndpointClass {
+        TRANSACTION_WRITE, TRANSACTION_READ
+    }
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Map<EndpointClass, TokenBucketRateLimiter> limiters = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> rejectedCounters = new EnumMap<>(EndpointClass.class);
+
+    public ApiRateLimitFilter(ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${mybank.rate-limit.api.enabled:true}") boolean enabled,
+                              @Value("${mybank.rate-limit.api.transaction-write.capacity:20}") long writeCapacity,
+                              @Value("${mybank.rate-limit.api.transaction-write.refill-interval-ms:100}") long writeRefillMs,
+                              @Value("${mybank.rate-limit.api.transaction-read.capacity:50}") long readCapacity,
+                              @Value("${mybank.rate-limit.api.transaction-read.refill-interval-ms:50}") long readRefillMs,
+                              @Value("${mybank.rate-limit.api.max-keys:100000}") long maxKeys) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        limiters.put(EndpointClass.TRANSACTION_WRITE,
+                new TokenBucketRateLimiter(writeCapacity, Duration.ofMillis(writeRefillMs), maxKeys));
+        limiters.put(EndpointClass.TRANSACTION_READ,
+                new TokenBucketRateLimiter(readCapacity, Duration.ofMillis(readRefillMs), maxKeys));
+
+        for (Map.Entry<EndpointClass, TokenBucketRateLimiter> entry : limiters.entrySet()) {
+            String endpoint = entry.getKey().name().toLowerCase();
+            entry.getValue().monitor(meterRegistry, "apiRateLimit." + endpoint);
+            rejectedCounters.put(entry.getKey(), Counter.builder("mybank.api.rate.limited")
+                    .description("Peticiones rechazadas por límite de frecuencia por usuario")
+                    .tag("endpoint", endpoint)
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        EndpointClass endpointClass = enabled ? classify(request) : null;
+        Long userId = endpointClass != null ? currentUserId() : null;
+        if (userId == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = limiters.get(endpointClass).tryAcquire(userId.toString());
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        rejectedCounters.get(endpointClass).increment();
+        log.debug("Rate limited user {} on {}", userId, endpointClass);
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error("Too many requests, try again later"));
+    }
+
+    static EndpointClass classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.equals(TRANSACTIONS_PATH) && !path.startsWith(TRANSACTIONS_PATH + "/")) {
+            return null;
+        }
+        if (HttpMethod.GET.matches(request.getMethod())) {
+            return EndpointClass.TRANSACTION_READ;
+        }
+        if (HttpMethod.POST.matches(request.getMethod())) {
+            return EndpointClass.TRANSACTION_WRITE;
+        }
+        return null;
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getUserId();
+        }
+        return null;
+    }
+}
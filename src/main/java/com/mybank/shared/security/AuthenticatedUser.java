@@ -0,0 +1,22 @@
+package com.mybank.shared.security;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Principal que el filtro JWT deja en el contexto de seguridad.
+ * Lleva el userId tomado de los claims verificados del token.
+ */
+@Getter
+public class AuthenticatedUser extends User {
+
+    private final Long userId;
+
+    public AuthenticatedUser(Long userId, String username, Collection<? extends GrantedAuthority> authorities) {
+        super(username, "", authorities);
+        this.userId = userId;
+    }
+}
@@ -0,0 +1,15 @@
+package com.mybank.shared.security;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Inyecta en un parámetro {@code Long} del controlador el ID del usuario autenticado,
+ * tomado del token JWT.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CurrentUserId {
+}
@@ -1,28 +1,62 @@
 package com.mybank.shared.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.mybank.domains.user.domain.entity.User;
+import com.mybank.domains.user.domain.event.UserSecurityChangedEvent;
 import com.mybank.domains.user.domain.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.Duration;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, MeterBinder {
 
     private final UserRepository userRepository;
 
+    // Solo se guardan usuarios activos; un usuario inexistente o inactivo siempre consulta la base
+    private final Cache<String, UserDetails> userCache;
+
+    public CustomUserDetailsService(
+            UserRepository userRepository,
+            @Value("${spring.security.user-cache.max-size:10000}") long maxSize,
+            @Value("${spring.security.user-cache.ttl:300000}") long ttl) {
+        this.userRepository = userRepository;
+        this.userCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttl))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Carga el usuario desde el caché o, en un fallo, desde la base de datos.
+     * Se retorna siempre una copia: Spring Security borra las credenciales del
+     * principal tras autenticar y no debe alterar la instancia cacheada.
+     */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        UserDetails cached = userCache.get(username, this::loadFromRepository);
+        return org.springframework.security.core.userdetails.User.withUserDetails(cached).build();
+    }
+
+    private UserDetails loadFromRepository(String username) {
         log.debug("Loading user by username: {}", username);
-        
+
         User user = userRepository.findByUsernameOrEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username or email: " + username));
 
@@ -38,4 +72,26 @@ public class CustomUserDetailsService implements UserDetailsService {
                         .collect(Collectors.toList()))
                 .build();
     }
-} 
\ No newline at end of file
+
+    /**
+     * Invalida las entradas del usuario (por username y por email) una vez
+     * confirmado el cambio de estado o roles.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserSecurityChanged(UserSecurityChangedEvent event) {
+        log.debug("Evicting cached user details for user {}", event.getUserId());
+        evict(event.getUsername());
+        evict(event.getEmail());
+    }
+
+    public void evict(String usernameOrEmail) {
+        if (usernameOrEmail != null) {
+            userCache.invalidate(usernameOrEmail);
+        }
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, userCache, "userDetails");
+    }
+}
@@ -1,13 +1,16 @@
 package com.mybank.shared.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -16,6 +19,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
@@ -24,6 +28,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenDenyList tokenDenyList;
+
+    // Modo sin estado: la autenticación se arma con los claims firmados, sin ir a la base de datos
+    @Value("${spring.security.jwt.stateless:false}")
+    private boolean stateless;
 
     @Override
     protected void doFilterInternal(
@@ -42,16 +51,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         jwt = authHeader.substring(7);
         try {
-            username = jwtService.extractUsername(jwt);
-            
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-                
+            Claims claims = jwtService.extractAllClaims(jwt);
+            username = claims.getSubject();
+
+            if (tokenDenyList.isTokenRevoked(claims)) {
+                log.debug("Rejected revoked JWT token for user: {}", username);
+            } else if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = stateless ? userDetailsFromClaims(claims) : null;
+                if (userDetails == null) {
+                    userDetails = this.userDetailsService.loadUserByUsername(username);
+                }
+
                 if (jwtService.isTokenValid(jwt, userDetails)) {
+                    AuthenticatedUser principal = userDetails instanceof AuthenticatedUser authenticatedUser
+                            ? authenticatedUser
+                            : new AuthenticatedUser(JwtService.userIdOf(claims), username, userDetails.getAuthorities());
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
+                            principal,
                             null,
-                            userDetails.getAuthorities()
+                            principal.getAuthorities()
                     );
                     authToken.setDetails(
                             new WebAuthenticationDetailsSource().buildDetails(request)
@@ -66,4 +84,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Construye el principal solo con los claims verificados. Retorna null, para
+     * consultar la base de datos, si el token no trae roles o estado, si el usuario
+     * no está activo o si su estado o roles cambiaron después de emitirse el token.
+     */
+    private AuthenticatedUser userDetailsFromClaims(Claims claims) {
+        List<?> roles = claims.get(JwtService.ROLES_CLAIM, List.class);
+        String status = claims.get(JwtService.STATUS_CLAIM, String.class);
+
+        if (roles == null || !"ACTIVE".equals(status) || tokenDenyList.isUserRevoked(claims)) {
+            return null;
+        }
+
+        return new AuthenticatedUser(JwtService.userIdOf(claims), claims.getSubject(), roles.stream()
+                .map(role -> new SimpleGrantedAuthority(role.toString()))
+                .toList());
+    }
 } 
\ No newline at end of file
@@ -1,25 +1,40 @@
 package com.mybank.shared.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Service
 @Slf4j
-public class JwtService {
+public class JwtService implements MeterBinder {
+
+    public static final String USER_ID_CLAIM = "userId";
+    public static final String ROLES_CLAIM = "roles";
+    public static final String STATUS_CLAIM = "status";
 
     @Value("${spring.security.jwt.secret}")
     private String secretKey;
@@ -27,18 +42,35 @@ public class JwtService {
     @Value("${spring.security.jwt.expiration}")
     private long jwtExpiration;
 
+    @Value("${spring.security.jwt.claims-cache.max-size:10000}")
+    private long claimsCacheMaxSize = 10000;
+
+    @Value("${spring.security.jwt.claims-cache.ttl:300000}")
+    private long claimsCacheTtl = 300000;
+
+    // La llave, el parser y el caché se construyen una sola vez, en el primer uso
+    private volatile SecretKey signInKey;
+    private volatile JwtParser jwtParser;
+    private volatile Cache<String, Claims> claimsCache;
+
+    // Duración de la verificación de firma en los fallos de caché; nulos hasta que se registra el binder
+    private volatile Timer verifyValidTimer;
+    private volatile Timer verifyInvalidTimer;
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
 
     public Long extractUserId(String token) {
-        return extractClaim(token, claims -> {
-            Object userIdObj = claims.get("userId");
-            if (userIdObj instanceof Number) {
-                return ((Number) userIdObj).longValue();
-            }
-            return null;
-        });
+        return extractClaim(token, JwtService::userIdOf);
+    }
+
+    public static Long userIdOf(Claims claims) {
+        Object userIdObj = claims.get(USER_ID_CLAIM);
+        if (userIdObj instanceof Number) {
+            return ((Number) userIdObj).longValue();
+        }
+        return null;
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -55,14 +87,29 @@ public class JwtService {
     }
 
     public String generateToken(String username, Long userId) {
+        return generateToken(username, userId, null, null);
+    }
+
+    /**
+     * Genera un token que además lleva los roles y el estado del usuario, para que
+     * el modo de autenticación sin estado no tenga que consultar la base de datos.
+     */
+    public String generateToken(String username, Long userId, Collection<String> roles, String status) {
         Map<String, Object> claims = new HashMap<>();
         if (userId != null) {
-            claims.put("userId", userId);
+            claims.put(USER_ID_CLAIM, userId);
         }
-        
+        if (roles != null) {
+            claims.put(ROLES_CLAIM, List.copyOf(roles));
+        }
+        if (status != null) {
+            claims.put(STATUS_CLAIM, status);
+        }
+
         return Jwts
                 .builder()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(username)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
@@ -82,6 +129,7 @@ public class JwtService {
         return Jwts
                 .builder()
                 .claims(extraClaims)
+                .id(UUID.randomUUID().toString())
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
@@ -90,29 +138,131 @@ public class JwtService {
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        final Claims claims = extractAllClaims(token);
+        return claims.getSubject().equals(userDetails.getUsername()) && !isExpired(claims);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private boolean isExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    /**
+     * Obtiene los claims verificados del token. Cada token se verifica (firma HMAC y
+     * expiración) una sola vez por ventana de TTL; las siguientes llamadas salen del caché.
+     */
+    public Claims extractAllClaims(String token) {
+        return getClaimsCache().get(token, this::parseClaims);
     }
 
-    private Claims extractAllClaims(String token) {
-        JwtParser parser = Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build();
-        
-        Jws<Claims> claimsJws = parser.parseClaimsJws(token);
-        return claimsJws.getBody();
+    private Claims parseClaims(String token) {
+        Timer valid = verifyValidTimer;
+        if (valid == null) {
+            return getJwtParser().parseSignedClaims(token).getPayload();
+        }
+        long start = System.nanoTime();
+        try {
+            Claims claims = getJwtParser().parseSignedClaims(token).getPayload();
+            valid.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return claims;
+        } catch (RuntimeException e) {
+            verifyInvalidTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
     }
 
     public SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        SecretKey key = signInKey;
+        if (key == null) {
+            synchronized (this) {
+                key = signInKey;
+                if (key == null) {
+                    byte[] keyBytes = Decoders.BASE64.decode(secretKey);
+                    key = Keys.hmacShaKeyFor(keyBytes);
+                    signInKey = key;
+                }
+            }
+        }
+        return key;
+    }
+
+    private JwtParser getJwtParser() {
+        JwtParser parser = jwtParser;
+        if (parser == null) {
+            synchronized (this) {
+                parser = jwtParser;
+                if (parser == null) {
+                    parser = Jwts.parser()
+                            .verifyWith(getSignInKey())
+                            .build();
+                    jwtParser = parser;
+                }
+            }
+        }
+        return parser;
+    }
+
+    private Cache<String, Claims> getClaimsCache() {
+        Cache<String, Claims> cache = claimsCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = claimsCache;
+                if (cache == null) {
+                    cache = Caffeine.newBuilder()
+                            .maximumSize(claimsCacheMaxSize)
+                            .expireAfter(new ClaimsExpiry(TimeUnit.MILLISECONDS.toNanos(claimsCacheTtl)))
+                            .recordStats()
+                            .build();
+                    claimsCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, getClaimsCache(), "jwtClaims");
+        verifyInvalidTimer = verifyTimer(registry, "invalid");
+        verifyValidTimer = verifyTimer(registry, "valid");
+    }
+
+    private static Timer verifyTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("mybank.jwt.verify")
+                .description("Verificación de firma y expiración de tokens JWT")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    /**
+     * Una entrada vive lo que sea menor entre el TTL configurado y el tiempo
+     * restante hasta la expiración del token, así un token vencido nunca se sirve del caché.
+     */
+    private static final class ClaimsExpiry implements Expiry<String, Claims> {
+
+        private final long ttlNanos;
+
+        private ClaimsExpiry(long ttlNanos) {
+            this.ttlNanos = ttlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return ttlNanos;
+            }
+            long untilExpiration = TimeUnit.MILLISECONDS.toNanos(expiration.getTime() - System.currentTimeMillis());
+            return Math.max(0, Math.min(ttlNanos, untilExpiration));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,83 @@
+package com.mybank.shared.security;
+
+import com.mybank.shared.exception.RateLimitExceededException;
+import com.mybank.shared.ratelimit.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limita los intentos de login por usuario y por IP de origen antes de consultar la base o
+ * verificar la contraseña, así un ataque de credential stuffing no cuesta un BCrypt por intento.
+ * El límite por usuario frena la fuerza bruta sobre una cuenta; el de IP, el barrido de muchas
+ * cuentas desde un mismo origen.
+ */
+@Component
+@Slf4j
+public class LoginRateLimiter {
+
+    private final boolean enabled;
+    private final TokenBucketRateLimiter byUsername;
+    private final TokenBucketRateLimiter byIp;
+    private final Counter usernameRejectedCounter;
+    private final Counter ipRejectedCounter;
+
+    public LoginRateLimiter(MeterRegistry meterRegistry,
+                            @Value("${mybank.rate-limit.login.enabled:true}") boolean enabled,
+                            @Value("${mybank.rate-limit.login.username.capacity:5}") long usernameCapacity,
+                            @Value("${mybank.rate-limit.login.username.refill-interval-ms:12000}") long usernameRefillMs,
+                            @Value("${mybank.rate-limit.login.ip.capacity:20}") long ipCapacity,
+                            @Value("${mybank.rate-limit.login.ip.refill-interval-ms:3000}") long ipRefillMs,
+                            @Value("${mybank.rate-limit.login.max-keys:100000}") long maxKeys) {
+        this.enabled = enabled;
+        this.byUsername = new TokenBucketRateLimiter(usernameCapacity, Duration.ofMillis(usernameRefillMs), maxKeys);
+        this.byIp = new TokenBucketRateLimiter(ipCapacity, Duration.ofMillis(ipRefillMs), maxKeys);
+
+        byUsername.monitor(meterRegistry, "loginRateLimitUsername");
+        byIp.monitor(meterRegistry, "loginRateLimitIp");
+        this.usernameRejectedCounter = rejectedCounter(meterRegistry, "username");
+        this.ipRejectedCounter = rejectedCounter(meterRegistry, "ip");
+    }
+
+    /**
+     * Consume un intento para la IP y para el usuario.
+     *
+     * @throws RateLimitExceededException si alguno de los dos agotó sus intentos
+     */
+    public void check(String usernameOrEmail, String clientIp) {
+        if (!enabled) {
+            return;
+        }
+        // Primero la IP: un origen bloqueado no gasta los intentos de las cuentas que prueba
+        if (clientIp != null) {
+            reject(byIp.tryAcquire(clientIp), ipRejectedCounter, "ip", clientIp);
+        }
+        if (usernameOrEmail != null) {
+            String username = usernameOrEmail.trim().toLowerCase(Locale.ROOT);
+            reject(byUsername.tryAcquire(username), usernameRejectedCounter, "username", username);
+        }
+    }
+
+    private void reject(long waitNanos, Counter counter, String keyType, String key) {
+        if (waitNanos == 0) {
+            return;
+        }
+        counter.increment();
+        log.debug("Login throttled by {} for {}", keyType, key);
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        throw new RateLimitExceededException("Too many login attempts, try again later", "AUTH", retryAfterSeconds);
+    }
+
+    private static Counter rejectedCounter(MeterRegistry registry, String keyType) {
+        return Counter.builder("mybank.login.rejected")
+                .description("Intentos de login rechazados por límite de frecuencia")
+                .tag("key", keyType)
+                .register(registry);
+    }
+}
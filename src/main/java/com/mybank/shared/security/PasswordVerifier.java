@@ -0,0 +1,169 @@
+package com.mybank.shared.security;
+
+import com.mybank.shared.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Ejecuta las verificaciones BCrypt en un pool acotado, fuera del hilo del request.
+ * <p>
+ * BCrypt consume CPU por diseño: con más verificaciones simultáneas que núcleos solo crece
+ * la latencia de todas. El pool tiene tantos hilos como núcleos y una cola limitada; si la
+ * cola está llena o la espera supera {@code timeout-ms}, la verificación se rechaza de
+ * inmediato con {@link ServiceOverloadedException} en lugar de acumular requests.
+ */
+@Component
+@Slf4j
+public class PasswordVerifier {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[aby]?\\$(\\d{2})\\$");
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final int strength;
+    private final boolean rehashOnLogin;
+    private final long timeoutMs;
+
+    private final Timer matchTimer;
+    private final Timer mismatchTimer;
+    private final Timer queueTimer;
+    private final Counter rejectedCounter;
+    private final Counter rehashCounter;
+
+    public PasswordVerifier(PasswordEncoder passwordEncoder,
+                            MeterRegistry meterRegistry,
+                            @Value("${spring.security.password.bcrypt-strength:10}") int strength,
+                            @Value("${spring.security.password.rehash-on-login:false}") boolean rehashOnLogin,
+                            @Value("${spring.security.password.verifier.threads:0}") int threads,
+                            @Value("${spring.security.password.verifier.queue-capacity:64}") int queueCapacity,
+                            @Value("${spring.security.password.verifier.timeout-ms:2000}") long timeoutMs) {
+        this.passwordEncoder = passwordEncoder;
+        this.strength = strength;
+        this.rehashOnLogin = rehashOnLogin;
+        this.timeoutMs = timeoutMs;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("password-verifier-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.matchTimer = verifyTimer(meterRegistry, "match");
+        this.mismatchTimer = verifyTimer(meterRegistry, "mismatch");
+        this.queueTimer = Timer.builder("mybank.password.queue")
+                .description("Espera en cola antes de verificar una contraseña")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("mybank.password.rejected")
+                .description("Verificaciones rechazadas por cola llena o espera vencida")
+                .register(meterRegistry);
+        this.rehashCounter = Counter.builder("mybank.password.rehashed")
+                .description("Contraseñas recalculadas con el costo BCrypt configurado")
+                .register(meterRegistry);
+        Gauge.builder("mybank.password.queue.size", executor, e -> e.getQueue().size())
+                .description("Verificaciones esperando un hilo")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Verifica la contraseña en el pool y espera el resultado.
+     *
+     * @throws ServiceOverloadedException si no hay capacidad para verificar a tiempo
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        long submitted = System.nanoTime();
+        Future<Boolean> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                queueTimer.record(start - submitted, TimeUnit.NANOSECONDS);
+                boolean matches = passwordEncoder.matches(rawPassword, encodedPassword);
+                (matches ? matchTimer : mismatchTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return matches;
+            });
+        } catch (RejectedExecutionException e) {
+            throw overloaded();
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw overloaded();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw overloaded();
+        }
+    }
+
+    /**
+     * Indica si la contraseña guardada usa un costo distinto al configurado y
+     * {@code rehash-on-login} está activo.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        if (!rehashOnLogin || encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    /**
+     * Calcula el nuevo hash en el pool sin hacer esperar al request. Si el pool está lleno
+     * se omite: se volverá a intentar en el próximo login.
+     */
+    public void rehashInBackground(String rawPassword, Consumer<String> onEncoded) {
+        try {
+            executor.execute(() -> {
+                try {
+                    onEncoded.accept(passwordEncoder.encode(rawPassword));
+                    rehashCounter.increment();
+                } catch (RuntimeException e) {
+                    log.warn("Password rehash failed: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Password rehash skipped, verifier pool is full");
+        }
+    }
+
+    private ServiceOverloadedException overloaded() {
+        rejectedCounter.increment();
+        return new ServiceOverloadedException("Too many login attempts in progress, try again later", "AUTH");
+    }
+
+    private static Timer verifyTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("mybank.password.verify")
+                .description("Duración de una verificación BCrypt")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
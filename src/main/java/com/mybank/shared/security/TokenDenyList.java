@@ -0,0 +1,81 @@
+package com.mybank.shared.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mybank.domains.user.domain.event.UserSecurityChangedEvent;
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+
+/**
+ * Lista de revocación en memoria para tokens JWT.
+ * <ul>
+ *   <li>Por token ({@code jti}): el token queda rechazado, p. ej. tras un logout.</li>
+ *   <li>Por usuario: los tokens emitidos antes del cambio de estado o roles ya no
+ *       pueden confiar en sus claims y deben revalidarse contra la base de datos.</li>
+ * </ul>
+ * Las entradas viven lo mismo que un token y nunca se desalojan antes: perder una
+ * revocación volvería a aceptar el token. El tamaño queda acotado por las revocaciones
+ * dentro de una vida de token. Es local a cada instancia.
+ */
+@Component
+@Slf4j
+public class TokenDenyList {
+
+    private final Cache<String, Boolean> revokedTokens;
+    private final Cache<String, Instant> revokedUsers;
+
+    public TokenDenyList(@Value("${spring.security.jwt.expiration}") long jwtExpiration) {
+        // Sin maximumSize: solo expiran cuando el token revocado ya no sería válido
+        this.revokedTokens = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(jwtExpiration))
+                .build();
+        this.revokedUsers = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(jwtExpiration))
+                .build();
+    }
+
+    public void revokeToken(Claims claims) {
+        if (claims.getId() != null) {
+            revokedTokens.put(claims.getId(), Boolean.TRUE);
+            log.debug("Token revoked for user: {}", claims.getSubject());
+        }
+    }
+
+    public void revokeUserTokens(String username) {
+        if (username != null) {
+            // El claim iat tiene precisión de segundos
+            revokedUsers.put(username, Instant.now().truncatedTo(ChronoUnit.SECONDS));
+        }
+    }
+
+    public boolean isTokenRevoked(Claims claims) {
+        return claims.getId() != null && revokedTokens.getIfPresent(claims.getId()) != null;
+    }
+
+    /**
+     * Indica si el token fue emitido antes (o en el mismo segundo) de la última
+     * revocación de su usuario.
+     */
+    public boolean isUserRevoked(Claims claims) {
+        Instant revokedAt = revokedUsers.getIfPresent(claims.getSubject());
+        if (revokedAt == null) {
+            return false;
+        }
+        Date issuedAt = claims.getIssuedAt();
+        return issuedAt == null || !issuedAt.toInstant().isAfter(revokedAt);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserSecurityChanged(UserSecurityChangedEvent event) {
+        revokeUserTokens(event.getUsername());
+    }
+}
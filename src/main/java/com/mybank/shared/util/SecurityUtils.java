@@ -1,30 +1,22 @@
 package com.mybank.shared.util;
 
-import com.mybank.shared.security.JwtService;
-import lombok.RequiredArgsConstructor;
+import com.mybank.shared.security.AuthenticatedUser;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
 @Component
-@RequiredArgsConstructor
 public class SecurityUtils {
 
-    private final JwtService jwtService;
-
     /**
-     * Obtiene el userId del usuario autenticado desde el token JWT
+     * Obtiene el userId del usuario autenticado desde el principal que deja el filtro JWT
      * @return Long userId o null si no está disponible
      */
     public Long getCurrentUserId() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.isAuthenticated()) {
-            // El token se puede obtener del contexto de seguridad
-            // Por simplicidad, asumimos que el username es suficiente para identificar al usuario
-            String username = authentication.getName();
-            // En una implementación más robusta, podrías extraer el token completo
-            // y usar jwtService.extractUserId(token)
-            return null; // Por ahora retornamos null, se puede mejorar
+        if (authentication != null && authentication.isAuthenticated()
+                && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getUserId();
         }
         return null;
     }
@@ -50,4 +42,4 @@ public class SecurityUtils {
         Long currentUserId = getCurrentUserId();
         return currentUserId != null && currentUserId.equals(userId);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,14 @@
+-- Asignación de IDs por bloques (pooled) para habilitar inserts por lotes en Hibernate.
+-- Con GenerationType.IDENTITY Hibernate necesita el ID de cada fila al insertar y no puede
+-- agrupar sentencias; con una secuencia de incremento 50 reserva 50 IDs por cada nextval.
+-- Se reutilizan las secuencias de las columnas BIGSERIAL para que los inserts que usan el
+-- DEFAULT de la columna (JDBC directo, datos semilla) sigan tomando valores de la misma secuencia.
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE accounts_id_seq INCREMENT BY 50;
+ALTER SEQUENCE transactions_id_seq INCREMENT BY 50;
+ALTER SEQUENCE transaction_audit_logs_id_seq INCREMENT BY 50;
+
+COMMENT ON SEQUENCE users_id_seq IS 'Secuencia pooled (allocationSize = 50) para users.id';
+COMMENT ON SEQUENCE accounts_id_seq IS 'Secuencia pooled (allocationSize = 50) para accounts.id';
+COMMENT ON SEQUENCE transactions_id_seq IS 'Secuencia pooled (allocationSize = 50) para transactions.id';
+COMMENT ON SEQUENCE transaction_audit_logs_id_seq IS 'Secuencia pooled (allocationSize = 50) para transaction_audit_logs.id';
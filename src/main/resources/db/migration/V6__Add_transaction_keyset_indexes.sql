@@ -0,0 +1,7 @@
+-- Índices para la paginación por cursor sobre (created_at, id), de más reciente a más antigua.
+-- Cada página es un range scan que arranca en la posición del cursor, sin importar la profundidad.
+CREATE INDEX idx_transactions_user_created_at_id ON transactions(user_id, created_at DESC, id DESC);
+CREATE INDEX idx_transactions_account_created_at_id ON transactions(account_id, created_at DESC, id DESC);
+
+-- Cubierto por idx_transactions_user_created_at_id
+DROP INDEX IF EXISTS idx_transactions_user_created_at;
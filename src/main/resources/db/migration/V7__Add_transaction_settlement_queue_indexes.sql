@@ -0,0 +1,5 @@
+-- Cola de liquidación: el worker reclama pendientes en orden de creación con SKIP LOCKED
+CREATE INDEX idx_transactions_pending_queue ON transactions(created_at, id) WHERE status = 'PENDING';
+
+-- Recuperación de reclamos vencidos
+CREATE INDEX idx_transactions_processing_updated_at ON transactions(updated_at) WHERE status = 'PROCESSING';
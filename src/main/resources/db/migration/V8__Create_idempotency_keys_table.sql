@@ -0,0 +1,13 @@
+-- Claves de idempotencia: una fila por (operación, usuario, clave) con la respuesta original
+CREATE TABLE idempotency_keys (
+    scope VARCHAR(50) NOT NULL,
+    user_id BIGINT NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    response_body TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (scope, user_id, idempotency_key)
+);
+
+-- Purga de claves antiguas
+CREATE INDEX idx_idempotency_keys_created_at ON idempotency_keys(created_at);
@@ -0,0 +1,4 @@
+-- Rechazos que se confirman (p. ej. fondos insuficientes): la clave guarda el error y lo repite
+ALTER TABLE idempotency_keys ADD COLUMN failed BOOLEAN NOT NULL DEFAULT FALSE;
+
+COMMENT ON COLUMN idempotency_keys.failed IS 'response_body contiene el error de negocio que se repite en cada reintento';
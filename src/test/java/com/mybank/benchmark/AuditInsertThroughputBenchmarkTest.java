@@ -0,0 +1,136 @@
+package com.mybank.benchmark;
+
+import com.mybank.domains.transaction.domain.entity.Transaction;
+import com.mybank.domains.transaction.domain.entity.TransactionAudit;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara el throughput de inserción de registros de auditoría:
+ * <ul>
+ *   <li>una fila por round trip con {@code RETURNING id}, que es lo que hace Hibernate con IDENTITY</li>
+ *   <li>{@code persist()} con la secuencia pooled, que Hibernate agrupa en lotes JDBC</li>
+ * </ul>
+ * Se ejecuta con {@code ./gradlew benchmarkTest} (requiere Docker).
+ */
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AuditInsertThroughputBenchmarkTest {
+
+    private static final int WARMUP_ROWS = 2_000;
+    private static final int ROWS = 10_000;
+    private static final int FLUSH_EVERY = 500;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void pooledSequenceBatching_OutperformsRowByRowIdentityInserts() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        tx.executeWithoutResult(status -> insertRowByRow(WARMUP_ROWS));
+        tx.executeWithoutResult(status -> persistBatched(WARMUP_ROWS));
+
+        long identityStart = System.nanoTime();
+        tx.executeWithoutResult(status -> insertRowByRow(ROWS));
+        long identityNanos = System.nanoTime() - identityStart;
+
+        long pooledStart = System.nanoTime();
+        tx.executeWithoutResult(status -> persistBatched(ROWS));
+        long pooledNanos = System.nanoTime() - pooledStart;
+
+        double identityRate = ROWS / (identityNanos / 1_000_000_000.0);
+        double pooledRate = ROWS / (pooledNanos / 1_000_000_000.0);
+        System.out.printf("audit inserts: identity-style %.0f rows/s, pooled+batch %.0f rows/s (x%.2f)%n",
+                identityRate, pooledRate, pooledRate / identityRate);
+
+        assertTrue(pooledRate > identityRate,
+                "Pooled sequence batching should insert faster than row-by-row identity inserts");
+    }
+
+    private void insertRowByRow(int rows) {
+        for (int i = 0; i < rows; i++) {
+            TransactionAudit audit = newAudit(i);
+            jdbcTemplate.update(connection -> {
+                PreparedStatement ps = connection.prepareStatement(
+                        "INSERT INTO transaction_audit_logs (id, transaction_id, transaction_number, new_status, " +
+                        "transaction_type, amount, total_amount, user_id, user_username, audit_event_type, " +
+                        "event_description, created_at) " +
+                        "VALUES (nextval('transaction_audit_logs_id_seq'), ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                        new String[]{"id"});
+                ps.setLong(1, audit.getTransactionId());
+                ps.setString(2, audit.getTransactionNumber());
+                ps.setString(3, audit.getNewStatus().name());
+                ps.setString(4, audit.getTransactionType().name());
+                ps.setBigDecimal(5, audit.getAmount());
+                ps.setBigDecimal(6, audit.getTotalAmount());
+                ps.setLong(7, audit.getUserId());
+                ps.setString(8, audit.getUserUsername());
+                ps.setString(9, audit.getEventType().name());
+                ps.setString(10, audit.getEventDescription());
+                ps.setTimestamp(11, Timestamp.valueOf(LocalDateTime.now()));
+                return ps;
+            }, new GeneratedKeyHolder());
+        }
+    }
+
+    private void persistBatched(int rows) {
+        for (int i = 0; i < rows; i++) {
+            entityManager.persist(newAudit(i));
+            if ((i + 1) % FLUSH_EVERY == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static TransactionAudit newAudit(int i) {
+        TransactionAudit audit = new TransactionAudit();
+        audit.setTransactionId((long) i);
+        audit.setTransactionNumber("TXN-BENCH-" + i);
+        audit.setTransactionType(Transaction.TransactionType.DEPOSIT);
+        audit.setNewStatus(Transaction.TransactionStatus.PENDING);
+        audit.setAmount(new BigDecimal("100.00"));
+        audit.setTotalAmount(new BigDecimal("100.00"));
+        audit.setUserId(1L);
+        audit.setUserUsername("benchmark");
+        audit.setEventType(TransactionAudit.AuditEventType.TRANSACTION_CREATED);
+        audit.setEventDescription("Benchmark row " + i);
+        return audit;
+    }
+}
@@ -0,0 +1,124 @@
+package com.mybank.benchmark;
+
+import com.mybank.shared.concurrency.BoundedDataSource;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compara los dos modos de ejecución de requests bajo una ráfaga de trabajo bloqueante:
+ * <ul>
+ *   <li>plataforma: 200 hilos (el máximo por defecto de Tomcat) contra el pool directo</li>
+ *   <li>virtual: un hilo virtual por request y el {@link BoundedDataSource} delante del pool</li>
+ * </ul>
+ * Cada request espera {@value #OFF_DB_WAIT_MS} ms fuera de la base (BCrypt, auditoría, llamadas
+ * externas) y luego ocupa una conexión {@value #DB_WAIT_MS} ms. Se ejecuta con
+ * {@code ./gradlew benchmarkTest} (requiere Docker).
+ */
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.com.mybank=WARN",
+        "logging.level.org.springframework.jdbc=WARN",
+        "spring.datasource.hikari.maximum-pool-size=" + ExecutionModelBenchmarkTest.POOL_SIZE,
+        "spring.datasource.hikari.minimum-idle=" + ExecutionModelBenchmarkTest.POOL_SIZE
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ExecutionModelBenchmarkTest {
+
+    static final int POOL_SIZE = 10;
+    private static final int PLATFORM_THREADS = 200;
+    private static final int WARMUP_REQUESTS = 500;
+    private static final int REQUESTS = 5_000;
+    private static final long OFF_DB_WAIT_MS = 20;
+    private static final long DB_WAIT_MS = 2;
+    private static final long MAX_TRACKED_NANOS = TimeUnit.SECONDS.toNanos(120);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void virtualThreadsWithBoundedPool_ComparedToPlatformThreadPool() throws InterruptedException {
+        JdbcTemplate direct = new JdbcTemplate(dataSource);
+        JdbcTemplate bounded = new JdbcTemplate(new BoundedDataSource(dataSource, POOL_SIZE, 60_000));
+
+        run("platform", direct, false, WARMUP_REQUESTS);
+        run("virtual", bounded, true, WARMUP_REQUESTS);
+
+        long platformErrors = report("platform", run("platform", direct, false, REQUESTS));
+        long virtualErrors = report("virtual", run("virtual", bounded, true, REQUESTS));
+
+        assertEquals(0, platformErrors, "Platform-thread mode had failed requests");
+        assertEquals(0, virtualErrors, "Virtual-thread mode had failed requests");
+    }
+
+    private Result run(String mode, JdbcTemplate jdbcTemplate, boolean virtual, int requests) throws InterruptedException {
+        Histogram latencies = new ConcurrentHistogram(MAX_TRACKED_NANOS, 3);
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(requests);
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = virtual
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(mode + "-", 0).factory())
+                : Executors.newFixedThreadPool(PLATFORM_THREADS, Thread.ofPlatform().name(mode + "-", 0).factory())) {
+            for (int i = 0; i < requests; i++) {
+                long submitted = System.nanoTime();
+                executor.execute(() -> {
+                    try {
+                        Thread.sleep(OFF_DB_WAIT_MS);
+                        jdbcTemplate.queryForObject("SELECT pg_sleep(?)", Object.class, DB_WAIT_MS / 1000.0);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        errors.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        errors.incrementAndGet();
+                    } finally {
+                        // La latencia incluye la espera en cola, como la ve el cliente
+                        latencies.recordValue(Math.min(System.nanoTime() - submitted, MAX_TRACKED_NANOS));
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+        }
+        return new Result(latencies, errors.get(), System.nanoTime() - start);
+    }
+
+    private long report(String mode, Result result) {
+        double seconds = result.elapsedNanos() / 1_000_000_000.0;
+        Histogram latencies = result.latencies();
+        System.out.printf("%-8s %d requests in %.2f s: %.0f req/s, p50 %.1f ms, p99 %.1f ms, max %.1f ms, %d errors%n",
+                mode, latencies.getTotalCount(), seconds, latencies.getTotalCount() / seconds,
+                millis(latencies.getValueAtPercentile(50)), millis(latencies.getValueAtPercentile(99)),
+                millis(latencies.getMaxValue()), result.errors());
+        return result.errors();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private record Result(Histogram latencies, long errors, long elapsedNanos) {
+    }
+}
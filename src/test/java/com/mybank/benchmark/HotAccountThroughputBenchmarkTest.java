@@ -0,0 +1,163 @@
+package com.mybank.benchmark;
+
+import com.mybank.domains.account.domain.entity.Account;
+import com.mybank.domains.account.domain.repository.AccountRepository;
+import com.mybank.domains.user.domain.entity.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Mide el throughput de los débitos y créditos atómicos con varios hilos sobre una cuenta
+ * "caliente" y sobre cuentas separadas, cada operación en su propia transacción. La
+ * corrección de estos escenarios la cubre {@code AccountBalanceConcurrencyTest}. Se ejecuta
+ * con {@code ./gradlew benchmarkTest} (requiere Docker).
+ */
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.com.mybank=WARN"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class HotAccountThroughputBenchmarkTest {
+
+    private static final int THREADS = 16;
+    private static final int OPERATIONS_PER_THREAD = 200;
+    private static final BigDecimal AMOUNT = new BigDecimal("3.00");
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        user = tx.execute(status -> {
+            String suffix = UUID.randomUUID().toString().substring(0, 8);
+            User u = new User();
+            u.setUsername("bench-" + suffix);
+            u.setEmail("bench-" + suffix + "@example.com");
+            u.setPassword("encodedPassword");
+            u.setFirstName("Hot");
+            u.setLastName("Account");
+            u.setRoles(Set.of("ROLE_USER"));
+            entityManager.persist(u);
+            return u;
+        });
+    }
+
+    @Test
+    void hotAccount_DebitsAndCredits() throws Exception {
+        Account account = newAccount(new BigDecimal("1000000.00"));
+
+        measure("hot account debits+credits",
+                thread -> thread % 2 == 0 ? debit(account.getId()) : credit(account.getId()));
+    }
+
+    @Test
+    void spreadAccounts_Debits() throws Exception {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            accounts.add(newAccount(new BigDecimal("1000000.00")));
+        }
+
+        measure("spread account debits", thread -> debit(accounts.get(thread).getId()));
+    }
+
+    private void measure(String scenario, IntPredicate operation) throws Exception {
+        // Calentamiento: conexiones del pool y planes de consulta
+        runConcurrently(operation, OPERATIONS_PER_THREAD / 10);
+
+        long start = System.nanoTime();
+        int succeeded = runConcurrently(operation, OPERATIONS_PER_THREAD);
+        long elapsedNanos = System.nanoTime() - start;
+
+        int operations = THREADS * OPERATIONS_PER_THREAD;
+        assertEquals(operations, succeeded);
+        System.out.printf("%s: %d operations on %d threads, %.0f ops/s%n",
+                scenario, operations, THREADS, operations / (elapsedNanos / 1_000_000_000.0));
+    }
+
+    private int runConcurrently(IntPredicate operation, int operationsPerThread) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    startSignal.await();
+                    for (int i = 0; i < operationsPerThread; i++) {
+                        if (operation.test(thread)) {
+                            succeeded.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            startSignal.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return succeeded.get();
+    }
+
+    private boolean debit(Long accountId) {
+        return Boolean.TRUE.equals(tx.execute(status -> accountRepository.debit(accountId, AMOUNT).isPresent()));
+    }
+
+    private boolean credit(Long accountId) {
+        return Boolean.TRUE.equals(tx.execute(status -> accountRepository.credit(accountId, AMOUNT).isPresent()));
+    }
+
+    private Account newAccount(BigDecimal balance) {
+        return tx.execute(status -> {
+            Account account = new Account();
+            account.setAccountNumber("ACC-BENCH-" + UUID.randomUUID());
+            account.setAccountType(Account.AccountType.CHECKING);
+            account.setBalance(balance);
+            account.setUser(entityManager.getReference(User.class, user.getId()));
+            entityManager.persist(account);
+            return account;
+        });
+    }
+}
@@ -0,0 +1,141 @@
+package com.mybank.benchmark;
+
+import com.mybank.domains.account.domain.entity.Account;
+import com.mybank.domains.transaction.domain.entity.Transaction;
+import com.mybank.domains.transaction.infrastructure.persistence.TransactionRepositoryImpl;
+import com.mybank.domains.user.domain.entity.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara el camino de creación de transacciones con y sin la consulta previa
+ * {@code existsByTransactionNumber}; la unicidad queda a cargo de la restricción UNIQUE.
+ * Se ejecuta con {@code ./gradlew benchmarkTest} (requiere Docker).
+ */
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(TransactionRepositoryImpl.class)
+class TransactionCreatePathBenchmarkTest {
+
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 1_000;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionRepositoryImpl transactionRepository;
+
+    private final AtomicInteger sequence = new AtomicInteger();
+    private Statistics statistics;
+    private User user;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        user = new User();
+        user.setUsername("create-bench");
+        user.setEmail("create-bench@example.com");
+        user.setPassword("encodedPassword");
+        user.setFirstName("Create");
+        user.setLastName("Bench");
+        user.setRoles(Set.of("ROLE_USER"));
+        entityManager.persist(user);
+
+        account = new Account();
+        account.setAccountNumber("ACC-BENCH-1");
+        account.setAccountType(Account.AccountType.CHECKING);
+        account.setUser(user);
+        entityManager.persist(account);
+        entityManager.flush();
+    }
+
+    @Test
+    void insertOnly_SkipsOneStatementPerCreateAndOutperformsExistsCheck() {
+        // Given
+        for (int i = 0; i < WARMUP; i++) {
+            createWithExistsCheck();
+            createInsertOnly();
+        }
+
+        // When
+        statistics.clear();
+        long withCheckNanos = time(this::createWithExistsCheck);
+        long withCheckStatements = statistics.getPrepareStatementCount();
+        statistics.clear();
+        long insertOnlyNanos = time(this::createInsertOnly);
+        long insertOnlyStatements = statistics.getPrepareStatementCount();
+
+        // Then
+        System.out.printf("create path: exists+insert %.1f us/op (%d statements), insert only %.1f us/op (%d statements)%n",
+                withCheckNanos / 1_000.0 / ITERATIONS, withCheckStatements,
+                insertOnlyNanos / 1_000.0 / ITERATIONS, insertOnlyStatements);
+        // El id sale de una secuencia con allocationSize=50: a lo sumo una consulta extra cada 50 inserts
+        assertTrue(insertOnlyStatements <= ITERATIONS + ITERATIONS / 50 + 1);
+        assertTrue(withCheckStatements >= 2L * ITERATIONS);
+        assertTrue(insertOnlyNanos < withCheckNanos,
+                "Dropping the exists round trip should make the create path faster");
+    }
+
+    private void createWithExistsCheck() {
+        Transaction transaction = newTransaction("TXN-BENCH-" + sequence.incrementAndGet());
+        // La consulta previa que se eliminó del camino de creación
+        boolean exists = entityManager.createQuery(
+                        "SELECT COUNT(t) > 0 FROM Transaction t WHERE t.transactionNumber = :number", Boolean.class)
+                .setParameter("number", transaction.getTransactionNumber())
+                .getSingleResult();
+        assertFalse(exists);
+        transactionRepository.save(transaction);
+        transactionRepository.flush();
+        entityManager.detach(transaction);
+    }
+
+    private void createInsertOnly() {
+        Transaction transaction = newTransaction("TXN-BENCH-" + sequence.incrementAndGet());
+        transactionRepository.save(transaction);
+        transactionRepository.flush();
+        entityManager.detach(transaction);
+    }
+
+    private static long time(Runnable operation) {
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            operation.run();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private Transaction newTransaction(String number) {
+        Transaction transaction = new Transaction();
+        transaction.setType(Transaction.TransactionType.DEPOSIT);
+        transaction.setAmount(new BigDecimal("10.00"));
+        transaction.setTransactionNumber(number);
+        transaction.setUser(user);
+        transaction.setAccount(account);
+        return transaction;
+    }
+}
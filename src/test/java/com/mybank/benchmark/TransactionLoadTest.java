@@ -0,0 +1,288 @@
+package com.mybank.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prueba de carga de punta a punta: levanta la aplicación completa contra PostgreSQL en
+ * Testcontainers y la ejercita por HTTP desde hilos virtuales con una mezcla configurable de
+ * creación, procesamiento, listado y consulta de auditoría. Reporta throughput e histogramas
+ * de latencia (p50/p99/p999) por operación.
+ * <p>
+ * Se ejecuta con {@code ./gradlew benchmarkTest --tests "*TransactionLoadTest"} (requiere Docker)
+ * y se configura con propiedades de sistema:
+ * <ul>
+ *   <li>{@code loadtest.users} (20): usuarios, cada uno con su cuenta</li>
+ *   <li>{@code loadtest.concurrency} (64): clientes concurrentes</li>
+ *   <li>{@code loadtest.warmup-seconds} (5) y {@code loadtest.duration-seconds} (30)</li>
+ *   <li>{@code loadtest.mix} ({@code create:40,process:30,list:20,audit:10}): pesos por operación</li>
+ *   <li>{@code loadtest.virtual-threads} (false): corre la aplicación en el modo del perfil {@code virtual}</li>
+ * </ul>
+ */
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "mybank.rate-limit.login.enabled=false",
+        "mybank.rate-limit.api.enabled=false",
+        "logging.level.com.mybank=WARN",
+        "logging.level.org.springframework.security=WARN",
+        "logging.level.org.springframework.web=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@ActiveProfiles("test")
+class TransactionLoadTest {
+
+    private static final String PASSWORD = "LoadTest2024!";
+    private static final long MAX_TRACKED_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    enum Operation {
+        CREATE, PROCESS, LIST, AUDIT
+    }
+
+    private record Client(String token, long userId, long accountId) {
+    }
+
+    private record Pending(Client client, long transactionId) {
+    }
+
+    @DynamicPropertySource
+    static void executionMode(DynamicPropertyRegistry registry) {
+        if (Boolean.getBoolean("loadtest.virtual-threads")) {
+            registry.add("spring.threads.virtual.enabled", () -> "true");
+            registry.add("mybank.db.concurrency.enabled", () -> "true");
+            registry.add("spring.jpa.open-in-view", () -> "false");
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    private final ConcurrentLinkedQueue<Pending> pending = new ConcurrentLinkedQueue<>();
+    private Map<Operation, Histogram> histograms;
+    private Map<Operation, AtomicLong> errors;
+
+    @Test
+    void mixedTransactionTraffic_ReportsThroughputAndLatency() throws Exception {
+        int users = Integer.getInteger("loadtest.users", 20);
+        int concurrency = Integer.getInteger("loadtest.concurrency", 64);
+        int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 5);
+        int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 30);
+        Operation[] schedule = schedule(System.getProperty("loadtest.mix", "create:40,process:30,list:20,audit:10"));
+
+        List<Client> clients = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            clients.add(newClient());
+        }
+
+        run(clients, schedule, concurrency, warmupSeconds);
+        long measuredNanos = run(clients, schedule, concurrency, durationSeconds);
+
+        long total = report(measuredNanos, concurrency, users);
+        long failed = errors.values().stream().mapToLong(AtomicLong::get).sum();
+        assertTrue(total > 0, "No request completed");
+        assertTrue(failed <= total / 100, "More than 1% of the requests failed: " + failed + " of " + total);
+    }
+
+    private long run(List<Client> clients, Operation[] schedule, int concurrency, int seconds) throws InterruptedException {
+        histograms = new EnumMap<>(Operation.class);
+        errors = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(MAX_TRACKED_NANOS, 3));
+            errors.put(operation, new AtomicLong());
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        Client client = clients.get(random.nextInt(clients.size()));
+                        execute(schedule[random.nextInt(schedule.length)], client);
+                    }
+                });
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private void execute(Operation operation, Client client) {
+        Pending next = null;
+        if (operation == Operation.PROCESS) {
+            next = pending.poll();
+            if (next == null) {
+                // Todavía no hay pendientes: se crea una para no sesgar la mezcla hacia las lecturas
+                operation = Operation.CREATE;
+            }
+        }
+
+        long start = System.nanoTime();
+        boolean ok;
+        try {
+            ok = switch (operation) {
+                case CREATE -> create(client);
+                case PROCESS -> post(next.client(), "/transactions/" + next.transactionId() + "/process", null) != null;
+                case LIST -> get(client, "/transactions/user/" + client.userId() + "?limit=50");
+                case AUDIT -> get(client, "/transactions/audit/user/" + client.userId() + "/paginated?size=20");
+            };
+        } catch (IOException e) {
+            ok = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        histograms.get(operation).recordValue(Math.min(System.nanoTime() - start, MAX_TRACKED_NANOS));
+        if (!ok) {
+            errors.get(operation).incrementAndGet();
+        }
+    }
+
+    private boolean create(Client client) throws IOException, InterruptedException {
+        boolean deposit = ThreadLocalRandom.current().nextBoolean();
+        Map<String, Object> body = Map.of(
+                "type", deposit ? "DEPOSIT" : "WITHDRAWAL",
+                "amount", deposit ? "25.00" : "10.00",
+                "accountId", client.accountId(),
+                "description", "load test");
+        JsonNode data = post(client, "/transactions", body);
+        if (data == null) {
+            return false;
+        }
+        pending.add(new Pending(client, data.get("id").asLong()));
+        return true;
+    }
+
+    private Client newClient() throws IOException, InterruptedException {
+        String username = "load-" + UUID.randomUUID().toString().substring(0, 12);
+        post(null, "/auth/register", Map.of(
+                "username", username,
+                "email", username + "@example.com",
+                "password", PASSWORD,
+                "firstName", "Load",
+                "lastName", "Test"));
+        JsonNode login = post(null, "/auth/login", Map.of("usernameOrEmail", username, "password", PASSWORD));
+        Client anonymous = new Client(login.get("token").asText(), login.get("userId").asLong(), 0);
+        JsonNode account = post(anonymous, "/accounts", Map.of("accountType", "CHECKING"));
+        Client client = new Client(anonymous.token(), anonymous.userId(), account.get("id").asLong());
+
+        // Saldo inicial para que los retiros de la mezcla no fallen por fondos
+        JsonNode seed = post(client, "/transactions", Map.of(
+                "type", "DEPOSIT", "amount", "1000000.00", "accountId", client.accountId()));
+        post(client, "/transactions/" + seed.get("id").asLong() + "/process", null);
+        return client;
+    }
+
+    private JsonNode post(Client client, String path, Object body) throws IOException, InterruptedException {
+        HttpRequest.Builder request = request(client, path)
+                .header("Content-Type", "application/json")
+                .POST(body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() / 100 != 2) {
+            return null;
+        }
+        JsonNode data = objectMapper.readTree(response.body()).get("data");
+        return data == null ? objectMapper.nullNode() : data;
+    }
+
+    private boolean get(Client client, String path) throws IOException, InterruptedException {
+        HttpResponse<Void> response = http.send(request(client, path).GET().build(), HttpResponse.BodyHandlers.discarding());
+        return response.statusCode() / 100 == 2;
+    }
+
+    private HttpRequest.Builder request(Client client, String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1" + path))
+                .timeout(Duration.ofSeconds(30));
+        if (client != null) {
+            builder.header("Authorization", "Bearer " + client.token());
+        }
+        return builder;
+    }
+
+    private long report(long elapsedNanos, int concurrency, int users) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        long total = 0;
+        System.out.printf("%nload test: %d clients over %d users, %.1f s, %s threads%n", concurrency, users, seconds,
+                Boolean.getBoolean("loadtest.virtual-threads") ? "virtual" : "platform");
+        System.out.printf("%-8s %9s %8s %9s %9s %9s %9s %9s%n",
+                "op", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = histograms.get(operation);
+            long count = histogram.getTotalCount();
+            total += count;
+            System.out.printf("%-8s %9d %8d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    operation.name().toLowerCase(), count, errors.get(operation).get(), count / seconds,
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+        }
+        System.out.printf("%-8s %9d %8s %9.1f%n", "total", total, "", total / seconds);
+        return total;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * Convierte {@code create:40,process:30,...} en una tabla donde cada operación aparece
+     * tantas veces como su peso; elegir una posición al azar respeta la mezcla.
+     */
+    static Operation[] schedule(String mix) {
+        List<Operation> schedule = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            Operation operation = Operation.valueOf(parts[0].trim().toUpperCase());
+            int weight = Integer.parseInt(parts[1].trim());
+            for (int i = 0; i < weight; i++) {
+                schedule.add(operation);
+            }
+        }
+        if (schedule.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix has no weighted operations: " + mix);
+        }
+        return schedule.toArray(Operation[]::new);
+    }
+}
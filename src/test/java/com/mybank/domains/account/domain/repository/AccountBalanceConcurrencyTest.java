@@ -0,0 +1,177 @@
+package com.mybank.domains.account.domain.repository;
+
+import com.mybank.domains.account.domain.entity.Account;
+import com.mybank.domains.user.domain.entity.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prueba de estrés de los débitos y créditos atómicos: varios hilos operan a la vez
+ * sobre cuentas "calientes", cada operación en su propia transacción (requiere Docker).
+ * El throughput de estos escenarios se mide en {@code HotAccountThroughputBenchmarkTest}.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AccountBalanceConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int OPERATIONS_PER_THREAD = 50;
+    private static final BigDecimal AMOUNT = new BigDecimal("3.00");
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        user = tx.execute(status -> {
+            String suffix = UUID.randomUUID().toString().substring(0, 8);
+            User u = new User();
+            u.setUsername("stress-" + suffix);
+            u.setEmail("stress-" + suffix + "@example.com");
+            u.setPassword("encodedPassword");
+            u.setFirstName("Stress");
+            u.setLastName("Test");
+            u.setRoles(Set.of("ROLE_USER"));
+            entityManager.persist(u);
+            return u;
+        });
+    }
+
+    @Test
+    void concurrentDebits_OnHotAccount_NeverOverdrawNorLoseUpdates() throws Exception {
+        // Given: fondos para 333 débitos de 3.00, pero se intentan 800
+        Account account = newAccount(new BigDecimal("1000.00"));
+
+        // When
+        int succeeded = runConcurrently(i -> debit(account.getId()));
+
+        // Then
+        BigDecimal balance = balanceOf(account.getId());
+        assertEquals(333, succeeded);
+        assertEquals(new BigDecimal("1.00"), balance);
+    }
+
+    @Test
+    void concurrentDebitsAndCredits_OnHotAccount_KeepExactBalance() throws Exception {
+        // Given: suficientes fondos para que ningún débito falle
+        Account account = newAccount(new BigDecimal("5000.00"));
+
+        // When: la mitad de los hilos acredita y la otra mitad debita
+        int succeeded = runConcurrently(i -> i % 2 == 0 ? debit(account.getId()) : credit(account.getId()));
+
+        // Then
+        assertEquals(THREADS * OPERATIONS_PER_THREAD, succeeded);
+        assertEquals(new BigDecimal("5000.00"), balanceOf(account.getId()));
+    }
+
+    @Test
+    void concurrentDebits_SpreadAcrossAccounts_EachEndsExact() throws Exception {
+        // Given: una cuenta por hilo, sin contención entre ellos
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            accounts.add(newAccount(new BigDecimal("1000.00")));
+        }
+
+        // When
+        int succeeded = runConcurrently(i -> debit(accounts.get(i).getId()));
+
+        // Then
+        assertEquals(THREADS * OPERATIONS_PER_THREAD, succeeded);
+        for (Account account : accounts) {
+            assertEquals(new BigDecimal("850.00"), balanceOf(account.getId()));
+        }
+    }
+
+    private int runConcurrently(ThreadOperation operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    startSignal.await();
+                    for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                        if (operation.apply(thread)) {
+                            succeeded.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            startSignal.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return succeeded.get();
+    }
+
+    private boolean debit(Long accountId) {
+        return Boolean.TRUE.equals(tx.execute(status -> accountRepository.debit(accountId, AMOUNT).isPresent()));
+    }
+
+    private boolean credit(Long accountId) {
+        return Boolean.TRUE.equals(tx.execute(status -> accountRepository.credit(accountId, AMOUNT).isPresent()));
+    }
+
+    private Account newAccount(BigDecimal balance) {
+        return tx.execute(status -> {
+            Account account = new Account();
+            account.setAccountNumber("ACC-STRESS-" + UUID.randomUUID());
+            account.setAccountType(Account.AccountType.CHECKING);
+            account.setBalance(balance);
+            account.setUser(entityManager.getReference(User.class, user.getId()));
+            entityManager.persist(account);
+            return account;
+        });
+    }
+
+    private BigDecimal balanceOf(Long accountId) {
+        return tx.execute(status -> accountRepository.findById(accountId).orElseThrow().getBalance());
+    }
+
+    @FunctionalInterface
+    private interface ThreadOperation {
+        boolean apply(int thread);
+    }
+}
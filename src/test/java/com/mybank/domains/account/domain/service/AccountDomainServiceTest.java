@@ -4,14 +4,18 @@ import com.mybank.domains.account.domain.entity.Account;
 import com.mybank.domains.account.domain.repository.AccountRepository;
 import com.mybank.domains.user.domain.entity.User;
 import com.mybank.shared.exception.BusinessException;
+import com.mybank.shared.id.IdGenerator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -27,6 +31,9 @@ class AccountDomainServiceTest {
     @Mock
     private AccountRepository accountRepository;
 
+    @Mock
+    private IdGenerator idGenerator;
+
     @InjectMocks
     private AccountDomainService accountDomainService;
 
@@ -54,18 +61,18 @@ class AccountDomainServiceTest {
         // Given
         when(accountRepository.findByUserAndAccountType(anyLong(), any(Account.AccountType.class)))
                 .thenReturn(Arrays.asList());
-        when(accountRepository.existsByAccountNumber(anyString())).thenReturn(false);
-        when(accountRepository.save(any(Account.class))).thenReturn(testAccount);
+        when(idGenerator.nextNumber("AC")).thenReturn("AC123456789");
+        when(accountRepository.saveAndFlush(any(Account.class))).thenReturn(testAccount);
 
         // When
         Account result = accountDomainService.createAccount(testAccount);
 
         // Then
         assertNotNull(result);
-        assertNotNull(result.getAccountNumber());
-        assertTrue(result.getAccountNumber().startsWith("AC"));
+        assertEquals("AC123456789", result.getAccountNumber());
         verify(accountRepository).findByUserAndAccountType(testUser.getId(), testAccount.getAccountType());
-        verify(accountRepository).save(testAccount);
+        verify(accountRepository).saveAndFlush(testAccount);
+        verify(accountRepository, never()).existsByAccountNumber(anyString());
     }
 
     @Test
@@ -85,7 +92,7 @@ class AccountDomainServiceTest {
         assertTrue(exception.getMessage().contains("maximum number of"));
         assertEquals("ACCOUNT_LIMIT_EXCEEDED", exception.getErrorCode());
         verify(accountRepository).findByUserAndAccountType(testUser.getId(), testAccount.getAccountType());
-        verify(accountRepository, never()).save(any(Account.class));
+        verify(accountRepository, never()).saveAndFlush(any(Account.class));
     }
 
     @Test
@@ -93,7 +100,9 @@ class AccountDomainServiceTest {
         // Given
         when(accountRepository.findByUserAndAccountType(anyLong(), any(Account.AccountType.class)))
                 .thenReturn(Arrays.asList());
-        when(accountRepository.existsByAccountNumber(anyString())).thenReturn(true);
+        when(idGenerator.nextNumber("AC")).thenReturn("AC123456789");
+        when(accountRepository.saveAndFlush(any(Account.class)))
+                .thenThrow(integrityViolation("23505", "accounts_account_number_key"));
 
         // When & Then
         BusinessException exception = assertThrows(BusinessException.class, () -> {
@@ -103,8 +112,23 @@ class AccountDomainServiceTest {
         assertEquals("Account number already exists", exception.getMessage());
         assertEquals("ACCOUNT_NUMBER_EXISTS", exception.getErrorCode());
         verify(accountRepository).findByUserAndAccountType(testUser.getId(), testAccount.getAccountType());
-        verify(accountRepository).existsByAccountNumber(anyString());
-        verify(accountRepository, never()).save(any(Account.class));
+        verify(accountRepository).saveAndFlush(testAccount);
+    }
+
+    @Test
+    void createAccount_OtherConstraintViolation_IsRethrownUnchanged() {
+        // Given: p. ej. el FK del usuario
+        DataIntegrityViolationException violation = integrityViolation("23503", "accounts_user_id_fkey");
+        when(accountRepository.findByUserAndAccountType(anyLong(), any(Account.AccountType.class)))
+                .thenReturn(Arrays.asList());
+        when(idGenerator.nextNumber("AC")).thenReturn("AC123456789");
+        when(accountRepository.saveAndFlush(any(Account.class))).thenThrow(violation);
+
+        // When & Then
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class, () ->
+                accountDomainService.createAccount(testAccount));
+
+        assertSame(violation, exception);
     }
 
     @Test
@@ -195,4 +219,10 @@ class AccountDomainServiceTest {
         assertEquals(newStatus, testAccount.getStatus());
         verify(accountRepository).save(testAccount);
     }
-} 
\ No newline at end of file
+
+    private static DataIntegrityViolationException integrityViolation(String sqlState, String constraintName) {
+        SQLException sqlException = new SQLException("constraint violated", sqlState);
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", sqlException, constraintName));
+    }
+}
@@ -0,0 +1,84 @@
+package com.mybank.domains.transaction.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mybank.domains.transaction.application.dto.AuditExportFilter;
+import com.mybank.domains.transaction.domain.entity.Transaction;
+import com.mybank.domains.transaction.domain.entity.TransactionAudit;
+import com.mybank.domains.transaction.domain.service.TransactionAuditService;
+import com.mybank.shared.exception.BusinessException;
+import com.mybank.shared.export.ExportFormat;
+import com.mybank.shared.export.StreamingExporter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionAuditExportServiceTest {
+
+    @Mock
+    private TransactionAuditService transactionAuditService;
+
+    private TransactionAuditExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new TransactionAuditExportService(transactionAuditService, new StreamingExporter(new ObjectMapper()));
+    }
+
+    @Test
+    void export_EventTypeFilter_WritesCsvRows() {
+        // Given
+        AuditExportFilter filter = new AuditExportFilter();
+        filter.setEventType(TransactionAudit.AuditEventType.TRANSACTION_FAILED);
+        when(transactionAuditService.streamAuditHistoryByEventType(TransactionAudit.AuditEventType.TRANSACTION_FAILED))
+                .thenReturn(Stream.of(audit(1L), audit(2L)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long count = exportService.export(filter, ExportFormat.CSV, out);
+
+        // Then
+        assertEquals(2, count);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("id,transactionId,transactionNumber,auditEventType"));
+        assertTrue(lines[1].startsWith("1,10,TXN1,TRANSACTION_FAILED"));
+    }
+
+    @Test
+    void export_MoreThanOneFilter_ThrowsException() {
+        // Given
+        AuditExportFilter filter = new AuditExportFilter();
+        filter.setStartDate(LocalDateTime.now().minusDays(1));
+        filter.setEndDate(LocalDateTime.now());
+        filter.setIpAddress("10.0.0.1");
+
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> exportService.export(filter, ExportFormat.NDJSON, new ByteArrayOutputStream()));
+        assertEquals("INVALID_EXPORT_FILTER", exception.getErrorCode());
+        verifyNoInteractions(transactionAuditService);
+    }
+
+    private static TransactionAudit audit(Long id) {
+        TransactionAudit audit = new TransactionAudit();
+        audit.setId(id);
+        audit.setTransactionId(10L);
+        audit.setTransactionNumber("TXN1");
+        audit.setTransactionType(Transaction.TransactionType.WITHDRAWAL);
+        audit.setNewStatus(Transaction.TransactionStatus.FAILED);
+        audit.setEventType(TransactionAudit.AuditEventType.TRANSACTION_FAILED);
+        audit.setEventDescription("Insufficient funds");
+        return audit;
+    }
+}
@@ -0,0 +1,99 @@
+package com.mybank.domains.transaction.application.service;
+
+import com.mybank.domains.transaction.application.dto.BatchProcessingResult;
+import com.mybank.domains.transaction.domain.entity.Transaction;
+import com.mybank.domains.transaction.domain.projection.PendingTransactionRef;
+import com.mybank.domains.transaction.domain.service.TransactionDomainService;
+import com.mybank.shared.exception.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionBatchProcessorTest {
+
+    @Mock
+    private TransactionDomainService transactionDomainService;
+
+    @Mock
+    private TransactionProcessingEngine transactionProcessingEngine;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionBatchProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        processor = new TransactionBatchProcessor(transactionDomainService, transactionProcessingEngine,
+                transactionManager, 3, 2);
+        lenient().when(transactionProcessingEngine.executeOnAccountLane(anyLong(), any()))
+                .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
+    }
+
+    @Test
+    void processPending_GroupsEachChunkByAccount() {
+        // Given: dos bloques; la cuenta 1 aparece en ambos
+        when(transactionDomainService.findPendingChunk(0L, 3)).thenReturn(List.of(
+                new PendingTransactionRef(1L, 1L, null), new PendingTransactionRef(2L, 2L, null), new PendingTransactionRef(3L, 1L, null)));
+        when(transactionDomainService.findPendingChunk(3L, 3)).thenReturn(List.of(
+                new PendingTransactionRef(4L, 1L, null)));
+        when(transactionDomainService.findPendingChunk(4L, 3)).thenReturn(List.of());
+        when(transactionDomainService.processAccountBatch(1L, List.of(1L, 3L)))
+                .thenReturn(List.of(transaction(Transaction.TransactionStatus.COMPLETED), transaction(Transaction.TransactionStatus.FAILED)));
+        when(transactionDomainService.processAccountBatch(2L, List.of(2L)))
+                .thenReturn(List.of(transaction(Transaction.TransactionStatus.COMPLETED)));
+        when(transactionDomainService.processAccountBatch(1L, List.of(4L)))
+                .thenReturn(List.of(transaction(Transaction.TransactionStatus.COMPLETED)));
+
+        // When
+        BatchProcessingResult result = processor.processPending(null);
+
+        // Then
+        assertEquals(2, result.getChunks());
+        assertEquals(3, result.getAccounts());
+        assertEquals(4, result.getProcessed());
+        assertEquals(3, result.getCompleted());
+        assertEquals(1, result.getFailed());
+        assertEquals(0, result.getErrors());
+        verify(transactionProcessingEngine, times(2)).executeOnAccountLane(eq(1L), any());
+    }
+
+    @Test
+    void processPending_GroupFails_CountsErrorsAndContinues() {
+        // Given
+        when(transactionDomainService.findPendingChunk(0L, 2)).thenReturn(List.of(
+                new PendingTransactionRef(1L, 1L, null), new PendingTransactionRef(2L, 2L, null)));
+        when(transactionDomainService.processAccountBatch(1L, List.of(1L)))
+                .thenThrow(new BusinessException("Account not found", "ACCOUNT_NOT_FOUND", "TRANSACTION"));
+        when(transactionDomainService.processAccountBatch(2L, List.of(2L)))
+                .thenReturn(List.of(transaction(Transaction.TransactionStatus.COMPLETED)));
+
+        // When: el tope corta la corrida tras el primer bloque
+        BatchProcessingResult result = processor.processPending(2);
+
+        // Then
+        assertEquals(1, result.getProcessed());
+        assertEquals(1, result.getErrors());
+        verify(transactionDomainService, never()).findPendingChunk(eq(2L), anyInt());
+    }
+
+    private static Transaction transaction(Transaction.TransactionStatus status) {
+        Transaction transaction = new Transaction();
+        transaction.setStatus(status);
+        return transaction;
+    }
+}
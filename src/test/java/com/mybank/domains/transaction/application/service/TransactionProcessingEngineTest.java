@@ -0,0 +1,68 @@
+package com.mybank.domains.transaction.application.service;
+
+import com.mybank.domains.transaction.application.dto.TransactionResponse;
+import com.mybank.domains.transaction.domain.service.TransactionDomainService;
+import com.mybank.shared.exception.BusinessException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionProcessingEngineTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private TransactionDomainService transactionDomainService;
+
+    private TransactionProcessingEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new TransactionProcessingEngine(transactionService, transactionDomainService, 4, 5_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    void process_RunsProcessingOnAccountLane() {
+        // Given
+        TransactionResponse response = new TransactionResponse();
+        when(transactionDomainService.findAccountIdById(10L)).thenReturn(Optional.of(3L));
+        when(transactionService.processTransaction(10L)).thenAnswer(invocation -> {
+            assertTrue(Thread.currentThread().getName().startsWith("account-lane-"));
+            return response;
+        });
+
+        // When
+        TransactionResponse result = engine.process(10L);
+
+        // Then
+        assertSame(response, result);
+        verify(transactionService).processTransaction(10L);
+    }
+
+    @Test
+    void process_ProcessingFails_PropagatesBusinessException() {
+        // Given: la transacción no existe, se despacha con su propio id
+        when(transactionDomainService.findAccountIdById(99L)).thenReturn(Optional.empty());
+        when(transactionService.processTransaction(99L))
+                .thenThrow(new BusinessException("Transaction not found", "TRANSACTION_NOT_FOUND", "TRANSACTION"));
+
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class, () -> engine.process(99L));
+        assertEquals("TRANSACTION_NOT_FOUND", exception.getErrorCode());
+    }
+}
@@ -0,0 +1,92 @@
+package com.mybank.domains.transaction.application.service;
+
+import com.mybank.domains.account.domain.repository.AccountRepository;
+import com.mybank.domains.transaction.application.dto.TransactionPageResponse;
+import com.mybank.domains.transaction.domain.entity.Transaction;
+import com.mybank.domains.transaction.domain.projection.TransactionSummary;
+import com.mybank.domains.transaction.domain.service.TransactionDomainService;
+import com.mybank.domains.transaction.domain.valueobject.TransactionCursor;
+import com.mybank.domains.user.domain.repository.UserRepository;
+import com.mybank.shared.exception.BusinessException;
+import com.mybank.shared.idempotency.IdempotencyStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionServiceTest {
+
+    @Mock
+    private TransactionDomainService transactionDomainService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private IdempotencyStore idempotencyStore;
+
+    @InjectMocks
+    private TransactionService transactionService;
+
+    @Test
+    void getTransactionsByUserId_MoreRowsThanLimit_ReturnsCursorToLastItem() {
+        // Given
+        LocalDateTime now = LocalDateTime.of(2024, 5, 1, 12, 0);
+        List<TransactionSummary> rows = List.of(transaction(3L, now), transaction(2L, now), transaction(1L, now.minusMinutes(1)));
+        when(transactionDomainService.findPageByUserId(1L, TransactionCursor.START, 3)).thenReturn(rows);
+
+        // When
+        TransactionPageResponse page = transactionService.getTransactionsByUserId(1L, null, 2);
+
+        // Then
+        assertEquals(2, page.getItems().size());
+        assertEquals("ACC1", page.getItems().get(0).getAccountNumber());
+        assertTrue(page.isHasMore());
+        assertEquals(new TransactionCursor(now, 2L), TransactionCursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void getTransactionsByUserId_WithCursor_ContinuesFromCursor() {
+        // Given
+        TransactionCursor cursor = new TransactionCursor(LocalDateTime.of(2024, 5, 1, 12, 0), 2L);
+        when(transactionDomainService.findPageByUserId(eq(1L), eq(cursor), eq(3)))
+                .thenReturn(List.of(transaction(1L, LocalDateTime.of(2024, 5, 1, 11, 59))));
+
+        // When
+        TransactionPageResponse page = transactionService.getTransactionsByUserId(1L, cursor.encode(), 2);
+
+        // Then
+        assertEquals(1, page.getItems().size());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getTransactionsByAccountId_InvalidCursor_ThrowsException() {
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> transactionService.getTransactionsByAccountId(1L, "garbage", 10));
+        assertEquals("INVALID_CURSOR", exception.getErrorCode());
+        verifyNoInteractions(transactionDomainService);
+    }
+
+    private static TransactionSummary transaction(Long id, LocalDateTime createdAt) {
+        return new TransactionSummary(id, "TXN" + id, Transaction.TransactionType.DEPOSIT,
+                Transaction.TransactionStatus.COMPLETED, new BigDecimal("10.00"), BigDecimal.ZERO, BigDecimal.ZERO,
+                new BigDecimal("10.00"), null, null, 1L, "testuser", 5L, "ACC1", null, null, null, null,
+                createdAt, createdAt, null);
+    }
+}
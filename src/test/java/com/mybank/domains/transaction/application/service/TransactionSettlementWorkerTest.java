@@ -0,0 +1,117 @@
+package com.mybank.domains.transaction.application.service;
+
+import com.mybank.domains.transaction.domain.entity.Transaction;
+import com.mybank.domains.transaction.domain.projection.PendingTransactionRef;
+import com.mybank.domains.transaction.domain.service.TransactionDomainService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionSettlementWorkerTest {
+
+    @Mock
+    private TransactionDomainService transactionDomainService;
+
+    @Mock
+    private TransactionProcessingEngine transactionProcessingEngine;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TransactionSettlementWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        worker = new TransactionSettlementWorker(transactionDomainService, transactionProcessingEngine,
+                transactionManager, meterRegistry, false, 1, 1000, 2, 60_000, false);
+        lenient().when(transactionProcessingEngine.executeOnAccountLane(anyLong(), any()))
+                .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
+    }
+
+    @Test
+    void drain_ClaimsUntilBatchIsIncomplete_AndSettlesPerAccount() {
+        // Given: un lote completo (2) y luego uno incompleto (1)
+        LocalDateTime createdAt = LocalDateTime.now().minusSeconds(5);
+        when(transactionDomainService.claimPending(2))
+                .thenReturn(List.of(new PendingTransactionRef(1L, 10L, createdAt), new PendingTransactionRef(2L, 20L, createdAt)))
+                .thenReturn(List.of(new PendingTransactionRef(3L, 10L, createdAt)));
+        when(transactionDomainService.settleClaimedBatch(10L, List.of(1L)))
+                .thenReturn(List.of(transaction(Transaction.TransactionStatus.COMPLETED)));
+        when(transactionDomainService.settleClaimedBatch(20L, List.of(2L)))
+                .thenReturn(List.of(transaction(Transaction.TransactionStatus.FAILED)));
+        when(transactionDomainService.settleClaimedBatch(10L, List.of(3L)))
+                .thenReturn(List.of(transaction(Transaction.TransactionStatus.COMPLETED)));
+
+        // When
+        int claimed = worker.drain();
+
+        // Then
+        assertEquals(3, claimed);
+        verify(transactionDomainService, times(2)).claimPending(2);
+        verify(transactionProcessingEngine, times(2)).executeOnAccountLane(eq(10L), any());
+        assertEquals(3.0, meterRegistry.counter("mybank.settlement.claimed").count());
+        assertEquals(2.0, meterRegistry.counter("mybank.settlement.settled", "outcome", "completed").count());
+        assertEquals(1.0, meterRegistry.counter("mybank.settlement.settled", "outcome", "failed").count());
+        assertEquals(3, meterRegistry.timer("mybank.settlement.lag").count());
+        assertTrue(meterRegistry.timer("mybank.settlement.lag").max(TimeUnit.SECONDS) >= 5);
+    }
+
+    @Test
+    void drain_GroupFails_ContinuesWithOtherAccounts() {
+        // Given
+        when(transactionDomainService.claimPending(2))
+                .thenReturn(List.of(new PendingTransactionRef(1L, 10L, null), new PendingTransactionRef(2L, 20L, null)))
+                .thenReturn(List.of());
+        when(transactionDomainService.settleClaimedBatch(10L, List.of(1L))).thenThrow(new IllegalStateException("boom"));
+        when(transactionDomainService.settleClaimedBatch(20L, List.of(2L)))
+                .thenReturn(List.of(transaction(Transaction.TransactionStatus.COMPLETED)));
+
+        // When
+        worker.drain();
+
+        // Then
+        assertEquals(1.0, meterRegistry.counter("mybank.settlement.settled", "outcome", "completed").count());
+        verify(transactionDomainService).settleClaimedBatch(20L, List.of(2L));
+    }
+
+    @Test
+    void maintain_ReleasesStaleClaims_AndUpdatesOldestPendingAge() {
+        // Given
+        when(transactionDomainService.releaseStaleClaims(any(LocalDateTime.class))).thenReturn(4);
+        when(transactionDomainService.findOldestPendingCreatedAt())
+                .thenReturn(Optional.of(LocalDateTime.now().minusSeconds(30)));
+
+        // When
+        worker.maintain();
+
+        // Then
+        assertEquals(4.0, meterRegistry.counter("mybank.settlement.released").count());
+        double ageSeconds = meterRegistry.get("mybank.settlement.oldest.pending.age").timeGauge().value(TimeUnit.SECONDS);
+        assertTrue(ageSeconds >= 30 && ageSeconds < 60);
+    }
+
+    private static Transaction transaction(Transaction.TransactionStatus status) {
+        Transaction transaction = new Transaction();
+        transaction.setStatus(status);
+        return transaction;
+    }
+}
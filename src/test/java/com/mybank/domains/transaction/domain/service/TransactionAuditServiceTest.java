@@ -4,12 +4,17 @@ import com.mybank.domains.account.domain.entity.Account;
 import com.mybank.domains.transaction.domain.entity.Transaction;
 import com.mybank.domains.transaction.domain.entity.TransactionAudit;
 import com.mybank.domains.transaction.domain.repository.TransactionAuditRepository;
+import com.mybank.domains.transaction.domain.repository.TransactionAuditWriter;
 import com.mybank.domains.user.domain.entity.User;
+import jakarta.persistence.EntityManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -21,6 +26,7 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -32,6 +38,15 @@ class TransactionAuditServiceTest {
     @Mock
     private TransactionAuditRepository transactionAuditRepository;
 
+    @Mock
+    private TransactionAuditWriter transactionAuditWriter;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private TransactionAuditService transactionAuditService;
 
@@ -81,7 +96,7 @@ class TransactionAuditServiceTest {
     @Test
     void logEvent_Success() {
         // Given
-        when(transactionAuditRepository.save(any(TransactionAudit.class))).thenReturn(testAudit);
+        when(transactionAuditWriter.write(any(TransactionAudit.class))).thenReturn(testAudit);
 
         // When
         TransactionAudit result = transactionAuditService.logEvent(testTransaction, 
@@ -93,13 +108,13 @@ class TransactionAuditServiceTest {
         assertEquals(testAudit.getId(), result.getId());
         assertEquals(testAudit.getTransactionId(), result.getTransactionId());
         assertEquals(testAudit.getEventType(), result.getEventType());
-        verify(transactionAuditRepository).save(any(TransactionAudit.class));
+        verify(transactionAuditWriter).write(any(TransactionAudit.class));
     }
 
     @Test
     void logEvent_WithAdditionalInfo_Success() {
         // Given
-        when(transactionAuditRepository.save(any(TransactionAudit.class))).thenReturn(testAudit);
+        when(transactionAuditWriter.write(any(TransactionAudit.class))).thenReturn(testAudit);
 
         // When
         TransactionAudit result = transactionAuditService.logEvent(testTransaction, 
@@ -112,13 +127,13 @@ class TransactionAuditServiceTest {
 
         // Then
         assertNotNull(result);
-        verify(transactionAuditRepository).save(any(TransactionAudit.class));
+        verify(transactionAuditWriter).write(any(TransactionAudit.class));
     }
 
     @Test
     void logStatusChange_Success() {
         // Given
-        when(transactionAuditRepository.save(any(TransactionAudit.class))).thenReturn(testAudit);
+        when(transactionAuditWriter.write(any(TransactionAudit.class))).thenReturn(testAudit);
 
         // When
         TransactionAudit result = transactionAuditService.logStatusChange(testTransaction, 
@@ -129,7 +144,8 @@ class TransactionAuditServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(testAudit.getId(), result.getId());
-        verify(transactionAuditRepository).save(any(TransactionAudit.class));
+        verify(transactionAuditWriter).write(any(TransactionAudit.class));
+        assertEquals(1, meterRegistry.get("mybank.audit.write").tag("event", "TRANSACTION_COMPLETED").timer().count());
     }
 
     @Test
@@ -139,7 +155,7 @@ class TransactionAuditServiceTest {
         validationAudit.setId(1L);
         validationAudit.setEventType(TransactionAudit.AuditEventType.VALIDATION_FAILED);
         validationAudit.setEventDescription("Validation failed: Invalid amount");
-        when(transactionAuditRepository.save(any(TransactionAudit.class))).thenReturn(validationAudit);
+        when(transactionAuditWriter.write(any(TransactionAudit.class))).thenReturn(validationAudit);
 
         // When
         TransactionAudit result = transactionAuditService.logValidationFailure(testTransaction, "Invalid amount");
@@ -148,7 +164,7 @@ class TransactionAuditServiceTest {
         assertNotNull(result);
         assertEquals(TransactionAudit.AuditEventType.VALIDATION_FAILED, result.getEventType());
         assertTrue(result.getEventDescription().contains("Invalid amount"));
-        verify(transactionAuditRepository).save(any(TransactionAudit.class));
+        verify(transactionAuditWriter).write(any(TransactionAudit.class));
     }
 
     @Test
@@ -158,7 +174,7 @@ class TransactionAuditServiceTest {
         systemErrorAudit.setId(1L);
         systemErrorAudit.setEventType(TransactionAudit.AuditEventType.SYSTEM_ERROR);
         systemErrorAudit.setEventDescription("System error: Database connection failed");
-        when(transactionAuditRepository.save(any(TransactionAudit.class))).thenReturn(systemErrorAudit);
+        when(transactionAuditWriter.write(any(TransactionAudit.class))).thenReturn(systemErrorAudit);
 
         // When
         TransactionAudit result = transactionAuditService.logSystemError(testTransaction, "Database connection failed");
@@ -167,7 +183,7 @@ class TransactionAuditServiceTest {
         assertNotNull(result);
         assertEquals(TransactionAudit.AuditEventType.SYSTEM_ERROR, result.getEventType());
         assertTrue(result.getEventDescription().contains("Database connection failed"));
-        verify(transactionAuditRepository).save(any(TransactionAudit.class));
+        verify(transactionAuditWriter).write(any(TransactionAudit.class));
     }
 
     @Test
@@ -177,7 +193,7 @@ class TransactionAuditServiceTest {
         fraudAudit.setId(1L);
         fraudAudit.setEventType(TransactionAudit.AuditEventType.FRAUD_DETECTED);
         fraudAudit.setEventDescription("Fraud detected: Unusual transaction pattern");
-        when(transactionAuditRepository.save(any(TransactionAudit.class))).thenReturn(fraudAudit);
+        when(transactionAuditWriter.write(any(TransactionAudit.class))).thenReturn(fraudAudit);
 
         // When
         TransactionAudit result = transactionAuditService.logFraudDetection(testTransaction, "Unusual transaction pattern");
@@ -186,7 +202,7 @@ class TransactionAuditServiceTest {
         assertNotNull(result);
         assertEquals(TransactionAudit.AuditEventType.FRAUD_DETECTED, result.getEventType());
         assertTrue(result.getEventDescription().contains("Unusual transaction pattern"));
-        verify(transactionAuditRepository).save(any(TransactionAudit.class));
+        verify(transactionAuditWriter).write(any(TransactionAudit.class));
     }
 
     @Test
@@ -196,7 +212,7 @@ class TransactionAuditServiceTest {
         complianceAudit.setId(1L);
         complianceAudit.setEventType(TransactionAudit.AuditEventType.COMPLIANCE_CHECK);
         complianceAudit.setEventDescription("Compliance check: AML check passed");
-        when(transactionAuditRepository.save(any(TransactionAudit.class))).thenReturn(complianceAudit);
+        when(transactionAuditWriter.write(any(TransactionAudit.class))).thenReturn(complianceAudit);
 
         // When
         TransactionAudit result = transactionAuditService.logComplianceCheck(testTransaction, "AML check passed");
@@ -205,7 +221,7 @@ class TransactionAuditServiceTest {
         assertNotNull(result);
         assertEquals(TransactionAudit.AuditEventType.COMPLIANCE_CHECK, result.getEventType());
         assertTrue(result.getEventDescription().contains("AML check passed"));
-        verify(transactionAuditRepository).save(any(TransactionAudit.class));
+        verify(transactionAuditWriter).write(any(TransactionAudit.class));
     }
 
     @Test
@@ -413,4 +429,24 @@ class TransactionAuditServiceTest {
         assertEquals(testAudit.getId(), result.getContent().get(0).getId());
         verify(transactionAuditRepository).findAllByOrderByCreatedAtDesc(pageable);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void streamAuditHistoryByDateRange_DetachesEachAudit() {
+        // Given
+        LocalDateTime startDate = LocalDateTime.now().minusDays(30);
+        LocalDateTime endDate = LocalDateTime.now();
+        TransactionAudit other = new TransactionAudit();
+        when(transactionAuditRepository.streamByDateRange(startDate, endDate)).thenReturn(Stream.of(testAudit, other));
+
+        // When
+        List<TransactionAudit> result;
+        try (Stream<TransactionAudit> stream = transactionAuditService.streamAuditHistoryByDateRange(startDate, endDate)) {
+            result = stream.toList();
+        }
+
+        // Then
+        assertEquals(2, result.size());
+        verify(entityManager).detach(testAudit);
+        verify(entityManager).detach(other);
+    }
+}
@@ -1,23 +1,37 @@
 package com.mybank.domains.transaction.domain.service;
 
 import com.mybank.domains.account.domain.entity.Account;
+import com.mybank.domains.account.domain.repository.AccountRepository;
 import com.mybank.domains.transaction.domain.entity.Transaction;
+import com.mybank.domains.transaction.domain.entity.TransactionAudit;
 import com.mybank.domains.transaction.domain.repository.TransactionRepository;
 import com.mybank.domains.user.domain.entity.User;
 import com.mybank.shared.exception.BusinessException;
+import com.mybank.shared.exception.InsufficientFundsException;
+import com.mybank.shared.id.IdGenerator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +43,15 @@ class TransactionDomainServiceTest {
     @Mock
     private TransactionAuditService transactionAuditService;
 
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private IdGenerator idGenerator;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private TransactionDomainService transactionDomainService;
 
@@ -67,7 +90,6 @@ class TransactionDomainServiceTest {
     @Test
     void createTransaction_Success() {
         // Given
-        when(transactionRepository.existsByTransactionNumber(anyString())).thenReturn(false);
         when(transactionRepository.save(any(Transaction.class))).thenReturn(testTransaction);
 
         // When
@@ -76,14 +98,31 @@ class TransactionDomainServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(testTransaction.getTransactionNumber(), result.getTransactionNumber());
-        verify(transactionRepository).existsByTransactionNumber(testTransaction.getTransactionNumber());
         verify(transactionRepository).save(testTransaction);
+        verify(transactionRepository).flush();
+        verify(transactionAuditService).logEvent(eq(testTransaction), eq(TransactionAudit.AuditEventType.TRANSACTION_CREATED), anyString());
+    }
+
+    @Test
+    void createTransaction_WithoutNumber_AssignsGeneratedNumber() {
+        // Given
+        testTransaction.setTransactionNumber(null);
+        when(idGenerator.nextNumber("TXN")).thenReturn("TXN987654321");
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Transaction result = transactionDomainService.createTransaction(testTransaction);
+
+        // Then
+        assertEquals("TXN987654321", result.getTransactionNumber());
     }
 
     @Test
     void createTransaction_TransactionNumberExists_ThrowsException() {
         // Given
-        when(transactionRepository.existsByTransactionNumber(anyString())).thenReturn(true);
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(testTransaction);
+        doThrow(integrityViolation("23505", "transactions_transaction_number_key"))
+                .when(transactionRepository).flush();
 
         // When & Then
         BusinessException exception = assertThrows(BusinessException.class, () -> {
@@ -92,8 +131,66 @@ class TransactionDomainServiceTest {
 
         assertEquals("Transaction number already exists", exception.getMessage());
         assertEquals("TRANSACTION_NUMBER_EXISTS", exception.getErrorCode());
-        verify(transactionRepository).existsByTransactionNumber(testTransaction.getTransactionNumber());
-        verify(transactionRepository, never()).save(any(Transaction.class));
+        verify(transactionRepository).flush();
+    }
+
+    @Test
+    void createTransaction_OtherConstraintViolation_IsRethrownUnchanged() {
+        // Given: p. ej. una descripción demasiado larga o un NOT NULL en la auditoría
+        DataIntegrityViolationException violation = integrityViolation("23502", null);
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(testTransaction);
+        doThrow(violation).when(transactionRepository).flush();
+
+        // When & Then
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class, () ->
+                transactionDomainService.createTransaction(testTransaction));
+
+        assertSame(violation, exception);
+    }
+
+    @Test
+    void createTransaction_InsufficientFunds_InsertsOnceAsFailed() {
+        // Given
+        testTransaction.setType(Transaction.TransactionType.WITHDRAWAL);
+        testTransaction.setTotalAmount(new BigDecimal("5000.00"));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        InsufficientFundsException exception = assertThrows(InsufficientFundsException.class, () ->
+                transactionDomainService.createTransaction(testTransaction));
+
+        // Then: un solo save ya con el estado final y su auditoría en el mismo flush
+        assertEquals("INSUFFICIENT_FUNDS", exception.getErrorCode());
+        verify(transactionRepository, times(1)).save(argThat(t -> t.getStatus() == Transaction.TransactionStatus.FAILED));
+        verify(transactionRepository).flush();
+        verify(transactionAuditService).logValidationFailure(eq(testTransaction), contains("Insufficient funds"));
+        verify(transactionAuditService, never()).logEvent(any(), eq(TransactionAudit.AuditEventType.TRANSACTION_CREATED), anyString());
+    }
+
+    @Test
+    void createTransaction_RecordsTimerByTypeAndOutcome() {
+        // Given
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        Transaction withdrawal = new Transaction();
+        withdrawal.setTransactionNumber("TXN1234567890123456790");
+        withdrawal.setType(Transaction.TransactionType.WITHDRAWAL);
+        withdrawal.setStatus(Transaction.TransactionStatus.PENDING);
+        withdrawal.setAmount(new BigDecimal("5000.00"));
+        withdrawal.setFee(BigDecimal.ZERO);
+        withdrawal.setTax(BigDecimal.ZERO);
+        withdrawal.setTotalAmount(new BigDecimal("5000.00"));
+        withdrawal.setUser(testUser);
+        withdrawal.setAccount(testAccount);
+
+        // When
+        transactionDomainService.createTransaction(testTransaction);
+        assertThrows(InsufficientFundsException.class, () -> transactionDomainService.createTransaction(withdrawal));
+
+        // Then
+        assertEquals(1, meterRegistry.get("mybank.transactions.create")
+                .tags("type", "DEPOSIT", "outcome", "created").timer().count());
+        assertEquals(1, meterRegistry.get("mybank.transactions.create")
+                .tags("type", "WITHDRAWAL", "outcome", "rejected").timer().count());
     }
 
     @Test
@@ -110,8 +207,7 @@ class TransactionDomainServiceTest {
         invalidTransaction.setTotalAmount(BigDecimal.ZERO);
         invalidTransaction.setUser(testUser);
         invalidTransaction.setAccount(testAccount);
-        
-        when(transactionRepository.existsByTransactionNumber(anyString())).thenReturn(false);
+
 
         // When & Then
         BusinessException exception = assertThrows(BusinessException.class, () -> {
@@ -120,7 +216,6 @@ class TransactionDomainServiceTest {
 
         assertTrue(exception.getMessage().contains("Transaction amount must be greater than zero"));
         assertEquals("INVALID_AMOUNT", exception.getErrorCode());
-        verify(transactionRepository).existsByTransactionNumber(invalidTransaction.getTransactionNumber());
         verify(transactionRepository, never()).save(any(Transaction.class));
     }
 
@@ -131,7 +226,9 @@ class TransactionDomainServiceTest {
         testTransaction.setStatus(Transaction.TransactionStatus.PENDING);
 
         when(transactionRepository.findById(1L)).thenReturn(Optional.of(testTransaction));
+        when(transactionRepository.markProcessingIfPending(1L)).thenReturn(1);
         when(transactionRepository.save(any(Transaction.class))).thenReturn(testTransaction);
+        when(accountRepository.credit(1L, new BigDecimal("100.00"))).thenReturn(Optional.of(new BigDecimal("1100.00")));
 
         // When
         Transaction result = transactionDomainService.processTransaction(1L);
@@ -141,6 +238,7 @@ class TransactionDomainServiceTest {
         assertNotNull(result.getProcessedAt());
         verify(transactionRepository).findById(1L);
         verify(transactionRepository, atLeastOnce()).save(any(Transaction.class));
+        verify(accountRepository).credit(1L, new BigDecimal("100.00"));
     }
 
     @Test
@@ -152,7 +250,9 @@ class TransactionDomainServiceTest {
         testTransaction.setTotalAmount(new BigDecimal("50.00"));
 
         when(transactionRepository.findById(1L)).thenReturn(Optional.of(testTransaction));
+        when(transactionRepository.markProcessingIfPending(1L)).thenReturn(1);
         when(transactionRepository.save(any(Transaction.class))).thenReturn(testTransaction);
+        when(accountRepository.debit(1L, new BigDecimal("50.00"))).thenReturn(Optional.of(new BigDecimal("950.00")));
 
         // When
         Transaction result = transactionDomainService.processTransaction(1L);
@@ -162,6 +262,7 @@ class TransactionDomainServiceTest {
         assertNotNull(result.getProcessedAt());
         verify(transactionRepository).findById(1L);
         verify(transactionRepository, atLeastOnce()).save(any(Transaction.class));
+        verify(accountRepository).debit(1L, new BigDecimal("50.00"));
     }
 
     @Test
@@ -173,7 +274,9 @@ class TransactionDomainServiceTest {
         testTransaction.setTotalAmount(new BigDecimal("2000.00"));
 
         when(transactionRepository.findById(1L)).thenReturn(Optional.of(testTransaction));
+        when(transactionRepository.markProcessingIfPending(1L)).thenReturn(1);
         when(transactionRepository.save(any(Transaction.class))).thenReturn(testTransaction);
+        when(accountRepository.debit(1L, new BigDecimal("2000.00"))).thenReturn(Optional.empty());
 
         // When & Then
         BusinessException exception = assertThrows(BusinessException.class, () -> {
@@ -182,9 +285,32 @@ class TransactionDomainServiceTest {
 
         assertTrue(exception.getMessage().contains("Insufficient funds"));
         assertEquals("INSUFFICIENT_FUNDS", exception.getErrorCode());
+        assertEquals(Transaction.TransactionStatus.FAILED, testTransaction.getStatus());
         verify(transactionRepository).findById(1L);
     }
 
+    @Test
+    void processTransaction_Withdrawal_UsesAtomicDebitInsteadOfInMemoryBalance() {
+        // Given: el balance en memoria está desactualizado, pero la base aún tiene fondos
+        testTransaction.setType(Transaction.TransactionType.WITHDRAWAL);
+        testAccount.setBalance(BigDecimal.ZERO);
+
+        when(transactionRepository.findById(1L)).thenReturn(Optional.of(testTransaction));
+        when(transactionRepository.markProcessingIfPending(1L)).thenReturn(1);
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(testTransaction);
+        when(accountRepository.debit(1L, new BigDecimal("100.00"))).thenReturn(Optional.of(new BigDecimal("400.00")));
+
+        // When
+        Transaction result = transactionDomainService.processTransaction(1L);
+
+        // Then
+        assertEquals(Transaction.TransactionStatus.COMPLETED, result.getStatus());
+        assertEquals(BigDecimal.ZERO, testAccount.getBalance());
+        verify(transactionAuditService).logEvent(eq(testTransaction),
+                eq(TransactionAudit.AuditEventType.BALANCE_UPDATED),
+                contains("from 500.00 to 400.00"));
+    }
+
     @Test
     void processTransaction_Payment_Success() {
         // Given
@@ -194,7 +320,9 @@ class TransactionDomainServiceTest {
         testTransaction.setTotalAmount(new BigDecimal("100.00"));
 
         when(transactionRepository.findById(1L)).thenReturn(Optional.of(testTransaction));
+        when(transactionRepository.markProcessingIfPending(1L)).thenReturn(1);
         when(transactionRepository.save(any(Transaction.class))).thenReturn(testTransaction);
+        when(accountRepository.debit(1L, new BigDecimal("100.00"))).thenReturn(Optional.of(new BigDecimal("900.00")));
 
         // When
         Transaction result = transactionDomainService.processTransaction(1L);
@@ -215,7 +343,9 @@ class TransactionDomainServiceTest {
         testTransaction.setTotalAmount(new BigDecimal("5.00"));
 
         when(transactionRepository.findById(1L)).thenReturn(Optional.of(testTransaction));
+        when(transactionRepository.markProcessingIfPending(1L)).thenReturn(1);
         when(transactionRepository.save(any(Transaction.class))).thenReturn(testTransaction);
+        when(accountRepository.debit(1L, new BigDecimal("5.00"))).thenReturn(Optional.of(new BigDecimal("995.00")));
 
         // When
         Transaction result = transactionDomainService.processTransaction(1L);
@@ -227,6 +357,59 @@ class TransactionDomainServiceTest {
         verify(transactionRepository, atLeastOnce()).save(any(Transaction.class));
     }
 
+    @Test
+    void processTransaction_ClaimedConcurrently_DoesNotTouchBalance() {
+        // Given: la lectura dice PENDING pero el worker ya reclamó la fila
+        when(transactionRepository.findById(1L)).thenReturn(Optional.of(testTransaction));
+        when(transactionRepository.markProcessingIfPending(1L)).thenReturn(0);
+
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class, () ->
+                transactionDomainService.processTransaction(1L));
+
+        assertEquals("INVALID_TRANSACTION_STATUS", exception.getErrorCode());
+        verify(transactionRepository, never()).save(any(Transaction.class));
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    void processAccountBatch_AppliesNetDeltaOnceAndFailsUnfundedTransactions() {
+        // Given: balance 100, depósito 50, retiro 120 (alcanza tras el depósito), retiro 100 (ya no alcanza)
+        Transaction deposit = newPendingTransaction(10L, Transaction.TransactionType.DEPOSIT, "50.00");
+        Transaction withdrawal = newPendingTransaction(11L, Transaction.TransactionType.WITHDRAWAL, "120.00");
+        Transaction unfunded = newPendingTransaction(12L, Transaction.TransactionType.WITHDRAWAL, "100.00");
+        List<Long> ids = List.of(10L, 11L, 12L);
+
+        when(transactionRepository.findByIdsAndStatusForUpdate(ids, Transaction.TransactionStatus.PENDING)).thenReturn(List.of(deposit, withdrawal, unfunded));
+        when(accountRepository.findBalanceForUpdate(1L)).thenReturn(Optional.of(new BigDecimal("100.00")));
+
+        // When
+        List<Transaction> result = transactionDomainService.processAccountBatch(1L, ids);
+
+        // Then
+        assertEquals(3, result.size());
+        assertEquals(Transaction.TransactionStatus.COMPLETED, deposit.getStatus());
+        assertEquals(Transaction.TransactionStatus.COMPLETED, withdrawal.getStatus());
+        assertEquals(Transaction.TransactionStatus.FAILED, unfunded.getStatus());
+        assertNotNull(withdrawal.getProcessedAt());
+        verify(accountRepository).adjustBalance(1L, new BigDecimal("-70.00"));
+        verify(accountRepository, never()).debit(any(), any());
+        verify(transactionAuditService).logAll(argThat(audits -> audits.size() == 5));
+    }
+
+    @Test
+    void processAccountBatch_NoPendingTransactions_DoesNotTouchAccount() {
+        // Given: otro proceso ya tomó las transacciones
+        when(transactionRepository.findByIdsAndStatusForUpdate(List.of(10L), Transaction.TransactionStatus.PENDING)).thenReturn(List.of());
+
+        // When
+        List<Transaction> result = transactionDomainService.processAccountBatch(1L, List.of(10L));
+
+        // Then
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(accountRepository, transactionAuditService);
+    }
+
     @Test
     void findById_Success() {
         // Given
@@ -255,4 +438,23 @@ class TransactionDomainServiceTest {
         assertEquals("TRANSACTION_NOT_FOUND", exception.getErrorCode());
         verify(transactionRepository).findById(1L);
     }
-} 
\ No newline at end of file
+
+    private Transaction newPendingTransaction(Long id, Transaction.TransactionType type, String amount) {
+        Transaction transaction = new Transaction();
+        transaction.setId(id);
+        transaction.setTransactionNumber("TXN" + id);
+        transaction.setType(type);
+        transaction.setStatus(Transaction.TransactionStatus.PENDING);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setTotalAmount(new BigDecimal(amount));
+        transaction.setUser(testUser);
+        transaction.setAccount(testAccount);
+        return transaction;
+    }
+
+    private static DataIntegrityViolationException integrityViolation(String sqlState, String constraintName) {
+        SQLException sqlException = new SQLException("constraint violated", sqlState);
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", sqlException, constraintName));
+    }
+}
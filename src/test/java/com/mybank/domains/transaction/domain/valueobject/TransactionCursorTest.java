@@ -0,0 +1,41 @@
+package com.mybank.domains.transaction.domain.valueobject;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionCursorTest {
+
+    @Test
+    void encodeAndDecode_RoundTrip_PreservesPosition() {
+        // Given
+        TransactionCursor cursor = new TransactionCursor(LocalDateTime.of(2024, 5, 1, 10, 30, 15, 123456000), 42L);
+
+        // When
+        TransactionCursor decoded = TransactionCursor.decode(cursor.encode());
+
+        // Then
+        assertEquals(cursor, decoded);
+    }
+
+    @Test
+    void encode_ProducesUrlSafeToken() {
+        // Given
+        TransactionCursor cursor = new TransactionCursor(LocalDateTime.of(2024, 5, 1, 10, 30), Long.MAX_VALUE);
+
+        // When
+        String token = cursor.encode();
+
+        // Then
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void decode_InvalidToken_ThrowsException() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> TransactionCursor.decode("not-a-cursor"));
+        assertThrows(IllegalArgumentException.class, () -> TransactionCursor.decode("%%%"));
+    }
+}
@@ -0,0 +1,227 @@
+package com.mybank.domains.transaction.infrastructure.persistence;
+
+import com.mybank.domains.transaction.domain.entity.Transaction;
+import com.mybank.domains.transaction.domain.entity.TransactionAudit;
+import com.mybank.domains.transaction.domain.repository.TransactionAuditRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchingTransactionAuditWriterTest {
+
+    @Mock
+    private TransactionAuditRepository transactionAuditRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BatchingTransactionAuditWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (writer != null) {
+            writer.stop();
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void write_SyncMode_SavesWithRepository() {
+        // Given
+        writer = newWriter("sync", 10, 10, 1000);
+        TransactionAudit audit = newAudit();
+        when(transactionAuditRepository.save(audit)).thenReturn(audit);
+
+        // When
+        TransactionAudit result = writer.write(audit);
+
+        // Then
+        assertSame(audit, result);
+        verify(transactionAuditRepository).save(audit);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void writeAll_SyncMode_InsertsSingleJdbcBatch() {
+        // Given
+        writer = newWriter("sync", 10, 10, 1000);
+        givenIdBlocks(50L);
+        List<TransactionAudit> audits = List.of(newAudit(), newAudit(), newAudit());
+
+        // When
+        writer.writeAll(audits);
+
+        // Then
+        audits.forEach(audit -> assertNotNull(audit.getCreatedAt()));
+        verify(jdbcTemplate).batchUpdate(eq(BatchingTransactionAuditWriter.INSERT_SQL),
+                argThat((List<Object[]> rows) -> rows.size() == 3), any(int[].class));
+        verifyNoInteractions(transactionAuditRepository);
+    }
+
+    @Test
+    void write_AsyncMode_FlushesWhenBatchIsFull() {
+        // Given
+        writer = newWriter("async", 100, 3, 10_000);
+        givenIdBlocks(50L);
+        writer.start();
+
+        // When
+        writer.write(newAudit());
+        writer.write(newAudit());
+        writer.write(newAudit());
+
+        // Then
+        verify(jdbcTemplate, timeout(2000)).batchUpdate(eq(BatchingTransactionAuditWriter.INSERT_SQL),
+                argThat((List<Object[]> rows) -> rows.size() == 3), any(int[].class));
+        verifyNoInteractions(transactionAuditRepository);
+    }
+
+    @Test
+    void write_AsyncMode_FlushesAfterInterval() {
+        // Given
+        writer = newWriter("async", 100, 50, 20);
+        givenIdBlocks(50L);
+        writer.start();
+
+        // When
+        TransactionAudit audit = writer.write(newAudit());
+
+        // Then
+        assertNotNull(audit.getCreatedAt());
+        verify(jdbcTemplate, timeout(2000)).batchUpdate(eq(BatchingTransactionAuditWriter.INSERT_SQL),
+                argThat((List<Object[]> rows) -> rows.size() == 1), any(int[].class));
+    }
+
+    @Test
+    void write_AsyncMode_QueueFull_CallerWritesAudit() {
+        // Given: writer sin hilo de fondo y cola de capacidad 1
+        writer = newWriter("async", 1, 10, 1000);
+        givenIdBlocks(50L);
+
+        // When
+        writer.write(newAudit());
+        writer.write(newAudit());
+
+        // Then
+        assertEquals(1, writer.getQueueDepth());
+        assertEquals(1.0, meterRegistry.counter("mybank.audit.backpressure").count());
+        verify(jdbcTemplate).batchUpdate(eq(BatchingTransactionAuditWriter.INSERT_SQL),
+                argThat((List<Object[]> rows) -> rows.size() == 1), any(int[].class));
+    }
+
+    @Test
+    void write_OnCommitMode_WritesSingleBatchBeforeCommit() {
+        // Given
+        writer = newWriter("on-commit", 10, 10, 1000);
+        givenIdBlocks(50L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        writer.write(newAudit());
+        writer.write(newAudit());
+
+        // Then
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList(), any(int[].class));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.afterCompletion(0));
+
+        verify(jdbcTemplate).batchUpdate(eq(BatchingTransactionAuditWriter.INSERT_SQL),
+                argThat((List<Object[]> rows) -> rows.size() == 2), any(int[].class));
+        assertFalse(TransactionSynchronizationManager.hasResource(writer));
+    }
+
+    @Test
+    void writeAll_AllocatesIdsInPooledBlocks() {
+        // Given: cada nextval es el techo de un bloque de 50 IDs
+        writer = newWriter("sync", 10, 100, 1000);
+        givenIdBlocks(100L, 150L);
+        List<TransactionAudit> audits = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            audits.add(newAudit());
+        }
+
+        // When
+        writer.writeAll(audits);
+
+        // Then
+        assertEquals(51L, audits.get(0).getId());
+        assertEquals(100L, audits.get(49).getId());
+        assertEquals(101L, audits.get(50).getId());
+        assertEquals(110L, audits.get(59).getId());
+        verify(jdbcTemplate, times(2)).queryForObject(BatchingTransactionAuditWriter.NEXT_ID_BLOCK_SQL, Long.class);
+        verify(jdbcTemplate).batchUpdate(eq(BatchingTransactionAuditWriter.INSERT_SQL),
+                argThat((List<Object[]> rows) -> rows.size() == 60 && rows.get(0)[0].equals(51L)), any(int[].class));
+    }
+
+    @Test
+    void writeAll_SequenceAtInitialValue_UsesOnlyThatId() {
+        // Given: secuencia recién creada, como la trata el optimizador pooled de Hibernate
+        writer = newWriter("sync", 10, 10, 1000);
+        givenIdBlocks(1L, 51L);
+        List<TransactionAudit> audits = List.of(newAudit(), newAudit());
+
+        // When
+        writer.writeAll(audits);
+
+        // Then
+        assertEquals(1L, audits.get(0).getId());
+        assertEquals(2L, audits.get(1).getId());
+    }
+
+    private void givenIdBlocks(Long first, Long... next) {
+        when(jdbcTemplate.queryForObject(BatchingTransactionAuditWriter.NEXT_ID_BLOCK_SQL, Long.class))
+                .thenReturn(first, next);
+    }
+
+    private BatchingTransactionAuditWriter newWriter(String mode, int capacity, int batchSize, long flushIntervalMs) {
+        return new BatchingTransactionAuditWriter(transactionAuditRepository, jdbcTemplate, transactionManager,
+                meterRegistry, mode, capacity, batchSize, flushIntervalMs, 0);
+    }
+
+    private TransactionAudit newAudit() {
+        TransactionAudit audit = new TransactionAudit();
+        audit.setTransactionId(1L);
+        audit.setTransactionNumber("TXN1234567890123456789");
+        audit.setTransactionType(Transaction.TransactionType.DEPOSIT);
+        audit.setNewStatus(Transaction.TransactionStatus.PENDING);
+        audit.setAmount(new BigDecimal("100.00"));
+        audit.setTotalAmount(new BigDecimal("100.00"));
+        audit.setUserId(1L);
+        audit.setUserUsername("testuser");
+        audit.setEventType(TransactionAudit.AuditEventType.TRANSACTION_CREATED);
+        audit.setEventDescription("Transaction created successfully");
+        return audit;
+    }
+}
@@ -0,0 +1,204 @@
+package com.mybank.domains.transaction.infrastructure.persistence;
+
+import com.mybank.domains.account.domain.entity.Account;
+import com.mybank.domains.transaction.domain.entity.Transaction;
+import com.mybank.domains.transaction.domain.projection.PendingTransactionRef;
+import com.mybank.domains.user.domain.entity.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica el reclamo de la cola de liquidación con {@code SKIP LOCKED}: dos reclamos
+ * simultáneos obtienen conjuntos disjuntos sin esperarse, y el paso a PROCESSING de
+ * {@code /process} no compite con el worker por la misma fila (requiere Docker).
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(TransactionRepositoryImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TransactionClaimQueueTest {
+
+    private static final int PENDING = 10;
+
+    @Autowired
+    private TransactionRepositoryImpl transactionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            String suffix = UUID.randomUUID().toString().substring(0, 8);
+            User user = new User();
+            user.setUsername("claim-" + suffix);
+            user.setEmail("claim-" + suffix + "@example.com");
+            user.setPassword("encodedPassword");
+            user.setFirstName("Claim");
+            user.setLastName("Queue");
+            user.setRoles(Set.of("ROLE_USER"));
+            entityManager.persist(user);
+
+            Account account = new Account();
+            account.setAccountNumber("ACC-CLAIM-" + suffix);
+            account.setAccountType(Account.AccountType.CHECKING);
+            account.setBalance(new BigDecimal("1000.00"));
+            account.setUser(user);
+            entityManager.persist(account);
+
+            for (int i = 0; i < PENDING; i++) {
+                Transaction transaction = new Transaction();
+                transaction.setType(Transaction.TransactionType.DEPOSIT);
+                transaction.setAmount(new BigDecimal("10.00"));
+                transaction.setTransactionNumber("TXN-CLAIM-" + suffix + "-" + i);
+                transaction.setUser(user);
+                transaction.setAccount(account);
+                entityManager.persist(transaction);
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Las filas se confirman fuera de la transacción del test: se limpian para no afectar a los demás
+        tx.executeWithoutResult(status -> entityManager.createQuery("DELETE FROM Transaction").executeUpdate());
+    }
+
+    @Test
+    void claimPending_ConcurrentClaims_AreDisjointAndDoNotBlock() throws Exception {
+        // Given: el primer reclamo mantiene su transacción abierta
+        CountDownLatch firstClaimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<List<PendingTransactionRef>> first = CompletableFuture.supplyAsync(() ->
+                tx.execute(status -> {
+                    List<PendingTransactionRef> claimed = transactionRepository.claimPending(PENDING / 2);
+                    firstClaimed.countDown();
+                    await(release);
+                    return claimed;
+                }));
+        assertTrue(firstClaimed.await(10, TimeUnit.SECONDS));
+
+        // When: el segundo reclamo corre mientras el primero sigue bloqueando sus filas
+        List<PendingTransactionRef> second = CompletableFuture.supplyAsync(() ->
+                tx.execute(status -> transactionRepository.claimPending(PENDING))).get(10, TimeUnit.SECONDS);
+        release.countDown();
+
+        // Then
+        Set<Long> firstIds = ids(first.get(10, TimeUnit.SECONDS));
+        Set<Long> secondIds = ids(second);
+        assertEquals(PENDING / 2, firstIds.size());
+        assertEquals(PENDING / 2, secondIds.size());
+        firstIds.retainAll(secondIds);
+        assertTrue(firstIds.isEmpty());
+        assertTrue(second.stream().allMatch(ref -> ref.getAccountId() != null && ref.getCreatedAt() != null));
+    }
+
+    @Test
+    void releaseStaleClaims_ReturnsOldClaimsToPending() {
+        // Given
+        tx.execute(status -> transactionRepository.claimPending(PENDING));
+
+        // When
+        Integer released = tx.execute(status -> transactionRepository.releaseStaleClaims(LocalDateTime.now().plusMinutes(1)));
+
+        // Then
+        assertEquals(PENDING, released);
+        assertEquals(PENDING, tx.execute(status -> transactionRepository.claimPending(PENDING)).size());
+    }
+
+    @Test
+    void markProcessingIfPending_RowClaimedAfterStaleRead_UpdatesNothing() {
+        // Given: /process leyó la fila como PENDING y el worker la reclama antes de su UPDATE
+        Long id = pendingIds().get(0);
+
+        // When
+        Integer updated = tx.execute(status -> {
+            Transaction stale = entityManager.find(Transaction.class, id);
+            assertEquals(Transaction.TransactionStatus.PENDING, stale.getStatus());
+            CompletableFuture.supplyAsync(() -> tx.execute(s -> transactionRepository.claimPending(PENDING))).join();
+            return transactionRepository.markProcessingIfPending(id);
+        });
+
+        // Then
+        assertEquals(0, updated);
+    }
+
+    @Test
+    void claimPending_RowBeingProcessed_IsSkipped() throws Exception {
+        // Given: /process pasó la fila a PROCESSING y su transacción sigue abierta
+        Long id = pendingIds().get(0);
+        CountDownLatch marked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> processing = CompletableFuture.supplyAsync(() ->
+                tx.execute(status -> {
+                    int updated = transactionRepository.markProcessingIfPending(id);
+                    marked.countDown();
+                    await(release);
+                    return updated;
+                }));
+        assertTrue(marked.await(10, TimeUnit.SECONDS));
+
+        // When
+        List<PendingTransactionRef> claimed = CompletableFuture.supplyAsync(() ->
+                tx.execute(status -> transactionRepository.claimPending(PENDING))).get(10, TimeUnit.SECONDS);
+        release.countDown();
+
+        // Then
+        assertEquals(1, processing.get(10, TimeUnit.SECONDS));
+        assertEquals(PENDING - 1, claimed.size());
+        assertFalse(ids(claimed).contains(id));
+    }
+
+    private List<Long> pendingIds() {
+        return tx.execute(status -> entityManager
+                .createQuery("SELECT t.id FROM Transaction t WHERE t.status = :status ORDER BY t.id", Long.class)
+                .setParameter("status", Transaction.TransactionStatus.PENDING)
+                .getResultList());
+    }
+
+    private static Set<Long> ids(List<PendingTransactionRef> refs) {
+        Set<Long> ids = new HashSet<>();
+        refs.forEach(ref -> ids.add(ref.getId()));
+        return ids;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
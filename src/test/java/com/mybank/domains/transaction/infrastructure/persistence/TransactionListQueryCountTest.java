@@ -0,0 +1,126 @@
+package com.mybank.domains.transaction.infrastructure.persistence;
+
+import com.mybank.domains.account.domain.entity.Account;
+import com.mybank.domains.transaction.application.dto.TransactionResponse;
+import com.mybank.domains.transaction.domain.entity.Transaction;
+import com.mybank.domains.transaction.domain.projection.TransactionSummary;
+import com.mybank.domains.transaction.domain.valueobject.TransactionCursor;
+import com.mybank.domains.user.domain.entity.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica que los listados de transacciones se resuelven con una única sentencia SQL,
+ * sin cargas lazy de usuario y cuentas al mapear la respuesta (requiere Docker).
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(TransactionRepositoryImpl.class)
+class TransactionListQueryCountTest {
+
+    private static final int TRANSACTIONS = 20;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionRepositoryImpl transactionRepository;
+
+    private Statistics statistics;
+    private User user;
+    private Account checking;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        user = new User();
+        user.setUsername("querycount");
+        user.setEmail("querycount@example.com");
+        user.setPassword("encodedPassword");
+        user.setFirstName("Query");
+        user.setLastName("Count");
+        user.setRoles(Set.of("ROLE_USER"));
+        entityManager.persist(user);
+
+        checking = newAccount("ACC-QC-1", Account.AccountType.CHECKING);
+        Account savings = newAccount("ACC-QC-2", Account.AccountType.SAVINGS);
+
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setType(Transaction.TransactionType.DEPOSIT);
+            transaction.setAmount(new BigDecimal("10.00"));
+            transaction.setTransactionNumber("TXN-QC-" + i);
+            transaction.setUser(user);
+            transaction.setAccount(i % 2 == 0 ? checking : savings);
+            entityManager.persist(transaction);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void findPageByUserId_MapsPageWithSingleStatement() {
+        // When
+        List<TransactionResponse> responses = transactionRepository
+                .findPageByUserId(user.getId(), TransactionCursor.START, TRANSACTIONS)
+                .stream()
+                .map(TransactionResponse::fromSummary)
+                .toList();
+
+        // Then
+        assertEquals(TRANSACTIONS, responses.size());
+        assertEquals("querycount", responses.get(0).getUserUsername());
+        assertNotNull(responses.get(0).getAccountNumber());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findPageByAccountId_MapsPageWithSingleStatement() {
+        // When
+        List<TransactionSummary> summaries = transactionRepository
+                .findPageByAccountId(checking.getId(), TransactionCursor.START, TRANSACTIONS);
+        summaries.forEach(TransactionResponse::fromSummary);
+
+        // Then
+        assertEquals(TRANSACTIONS / 2, summaries.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findByUserId_EntityMapping_TriggersLazyLoads() {
+        // When: el camino con entidades que reemplazan las proyecciones
+        transactionRepository.findByUserId(user.getId()).forEach(TransactionResponse::fromEntity);
+
+        // Then
+        assertTrue(statistics.getPrepareStatementCount() > 1);
+    }
+
+    private Account newAccount(String accountNumber, Account.AccountType type) {
+        Account account = new Account();
+        account.setAccountNumber(accountNumber);
+        account.setAccountType(type);
+        account.setUser(user);
+        entityManager.persist(account);
+        return account;
+    }
+}
@@ -1,6 +1,7 @@
 package com.mybank.domains.user.domain.service;
 
 import com.mybank.domains.user.domain.entity.User;
+import com.mybank.domains.user.domain.event.UserSecurityChangedEvent;
 import com.mybank.domains.user.domain.repository.UserRepository;
 import com.mybank.shared.exception.BusinessException;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,8 +10,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -22,6 +25,9 @@ class UserDomainServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserDomainService userDomainService;
 
@@ -92,6 +98,33 @@ class UserDomainServiceTest {
         verify(userRepository, never()).save(any(User.class));
     }
 
+    @Test
+    void updatePasswordHash_ReplacesHashWithoutSecurityEvent() {
+        // Given
+        when(userRepository.updatePasswordIfUnchanged(1L, "$2a$10$verified", "$2a$12$rehashed")).thenReturn(1);
+
+        // When
+        boolean result = userDomainService.updatePasswordHash(1L, "$2a$10$verified", "$2a$12$rehashed");
+
+        // Then
+        assertTrue(result);
+        verify(userRepository, never()).save(any(User.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void updatePasswordHash_PasswordChangedSinceVerification_KeepsNewPassword() {
+        // Given
+        when(userRepository.updatePasswordIfUnchanged(1L, "$2a$10$verified", "$2a$12$rehashed")).thenReturn(0);
+
+        // When
+        boolean result = userDomainService.updatePasswordHash(1L, "$2a$10$verified", "$2a$12$rehashed");
+
+        // Then
+        assertFalse(result);
+        verify(userRepository, never()).save(any(User.class));
+    }
+
     @Test
     void findById_Success() {
         // Given
@@ -147,4 +180,29 @@ class UserDomainServiceTest {
         assertFalse(result.isPresent());
         verify(userRepository).findByUsername("nonexistent");
     }
-} 
\ No newline at end of file
+
+    @Test
+    void updateStatus_SavesAndPublishesSecurityChange() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.save(testUser)).thenReturn(testUser);
+
+        // When
+        User result = userDomainService.updateStatus(1L, User.UserStatus.SUSPENDED);
+
+        // Then
+        assertEquals(User.UserStatus.SUSPENDED, result.getStatus());
+        verify(eventPublisher).publishEvent(new UserSecurityChangedEvent(1L, "testuser", "test@example.com"));
+    }
+
+    @Test
+    void updateRoles_UserNotFound_DoesNotPublish() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(BusinessException.class,
+                () -> userDomainService.updateRoles(1L, Set.of("ROLE_ADMIN")));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+}
@@ -0,0 +1,100 @@
+package com.mybank.shared.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BoundedDataSourceTest {
+
+    private final DataSource target = mock(DataSource.class);
+
+    @Test
+    void getConnection_ClosingReturnsThePermit() throws SQLException {
+        // Given
+        Connection connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+        BoundedDataSource dataSource = new BoundedDataSource(target, 1, 50);
+
+        // When
+        Connection first = dataSource.getConnection();
+        first.close();
+        first.close();
+        Connection second = dataSource.getConnection();
+
+        // Then: un doble cierre no libera un permiso de más
+        assertEquals(0, dataSource.getAvailablePermits());
+        second.close();
+        assertEquals(1, dataSource.getAvailablePermits());
+        verify(connection, times(3)).close();
+    }
+
+    @Test
+    void getConnection_NoPermitWithinTimeout_FailsFast() throws SQLException {
+        // Given
+        when(target.getConnection()).thenReturn(mock(Connection.class));
+        BoundedDataSource dataSource = new BoundedDataSource(target, 1, 20);
+        dataSource.getConnection();
+
+        // When & Then
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        verify(target, times(1)).getConnection();
+    }
+
+    @Test
+    void getConnection_TargetFails_ReleasesPermit() throws SQLException {
+        // Given
+        when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+        BoundedDataSource dataSource = new BoundedDataSource(target, 1, 20);
+
+        // When
+        assertThrows(SQLException.class, dataSource::getConnection);
+
+        // Then
+        assertEquals(1, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    void getConnection_ManyVirtualThreads_NeverExceedsLimit() throws Exception {
+        // Given
+        AtomicInteger open = new AtomicInteger();
+        AtomicInteger maxOpen = new AtomicInteger();
+        when(target.getConnection()).thenAnswer(invocation -> {
+            maxOpen.accumulateAndGet(open.incrementAndGet(), Math::max);
+            Connection connection = mock(Connection.class);
+            doAnswer(close -> open.decrementAndGet()).when(connection).close();
+            return connection;
+        });
+        BoundedDataSource dataSource = new BoundedDataSource(target, 4, 5_000);
+
+        // When
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 500; i++) {
+                futures.add(CompletableFuture.runAsync(() -> {
+                    try (Connection ignored = dataSource.getConnection()) {
+                        Thread.sleep(1);
+                    } catch (SQLException | InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }, threads));
+            }
+        }
+
+        // Then
+        futures.forEach(CompletableFuture::join);
+        assertTrue(maxOpen.get() <= 4, "Opened " + maxOpen.get() + " connections at once");
+        assertEquals(4, dataSource.getAvailablePermits());
+    }
+}
@@ -0,0 +1,148 @@
+package com.mybank.shared.concurrency;
+
+import com.mybank.shared.exception.BusinessException;
+import com.mybank.shared.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedExecutorTest {
+
+    private final StripedExecutor executor = new StripedExecutor("test", 4, Duration.ofSeconds(5));
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void execute_SameKey_RunsTasksOneAtATime() {
+        // Given
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            futures.add(CompletableFuture.supplyAsync(() -> executor.execute(7L, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.onSpinWait();
+                return running.decrementAndGet();
+            })));
+        }
+        futures.forEach(CompletableFuture::join);
+
+        // Then
+        assertEquals(1, maxRunning.get());
+    }
+
+    @Test
+    void execute_SameKey_PreservesSubmissionOrder() {
+        // Given
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            int value = i;
+            executor.execute(3L, () -> order.add(value));
+        }
+
+        // Then
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, order.get(i));
+        }
+    }
+
+    @Test
+    void execute_DifferentLanes_RunInParallel() throws Exception {
+        // Given: dos llaves en carriles distintos que se esperan mutuamente
+        long first = 0L;
+        long second = 1L;
+        assertNotEquals(executor.laneOf(first), executor.laneOf(second));
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        // When
+        CompletableFuture<Boolean> a = CompletableFuture.supplyAsync(() -> executor.execute(first, () -> awaitBoth(bothStarted)));
+        CompletableFuture<Boolean> b = CompletableFuture.supplyAsync(() -> executor.execute(second, () -> awaitBoth(bothStarted)));
+
+        // Then
+        assertTrue(a.get(5, TimeUnit.SECONDS));
+        assertTrue(b.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void execute_NestedCallOnSameLane_RunsInline() {
+        // When
+        String result = executor.execute(5L, () -> executor.execute(5L, () -> "nested"));
+
+        // Then
+        assertEquals("nested", result);
+    }
+
+    @Test
+    void execute_TaskThrows_RethrowsOriginalException() {
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class, () ->
+                executor.execute(1L, () -> {
+                    throw new BusinessException("Insufficient funds", "INSUFFICIENT_FUNDS", "TRANSACTION");
+                }));
+
+        assertEquals("INSUFFICIENT_FUNDS", exception.getErrorCode());
+    }
+
+    @Test
+    void execute_LaneStuck_FailsFastAndSkipsQueuedTask() throws Exception {
+        // Given: un carril ocupado más allá del timeout
+        StripedExecutor shortTimeout = new StripedExecutor("short", 1, Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executed = new AtomicInteger();
+        CompletableFuture<Boolean> blocker = CompletableFuture.supplyAsync(() ->
+                shortTimeout.execute(1L, () -> {
+                    started.countDown();
+                    return awaitRelease(release);
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // When
+        ServiceOverloadedException exception = assertThrows(ServiceOverloadedException.class, () ->
+                shortTimeout.execute(2L, executed::incrementAndGet));
+
+        // Then
+        assertEquals("SERVICE_OVERLOADED", exception.getErrorCode());
+        release.countDown();
+        // El bloqueador también puede vencer su propio timeout; solo se espera a que termine
+        blocker.handle((result, error) -> result).get(5, TimeUnit.SECONDS);
+        shortTimeout.close();
+        assertEquals(0, executed.get());
+    }
+
+    private static boolean awaitRelease(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static boolean awaitBoth(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
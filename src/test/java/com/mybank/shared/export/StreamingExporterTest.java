@@ -0,0 +1,62 @@
+package com.mybank.shared.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mybank.shared.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingExporterTest {
+
+    private final StreamingExporter exporter = new StreamingExporter(new ObjectMapper());
+
+    private final List<ExportColumn<Map<String, Object>>> columns = List.of(
+            new ExportColumn<>("id", row -> row.get("id")),
+            new ExportColumn<>("description", row -> row.get("description"))
+    );
+
+    @Test
+    void write_Ndjson_WritesOneJsonObjectPerLine() {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Stream<Map<String, Object>> rows = Stream.of(Map.of("id", 1), Map.of("id", 2));
+
+        // When
+        long count = exporter.write(rows, ExportFormat.NDJSON, columns, out);
+
+        // Then
+        assertEquals(2, count);
+        assertEquals("{\"id\":1}\n{\"id\":2}\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void write_Csv_WritesHeaderAndEscapesValues() {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Stream<Map<String, Object>> rows = Stream.of(
+                Map.of("id", 1, "description", "Pago, \"luz\""),
+                Map.of("id", -2, "description", "=HYPERLINK(\"x\")"));
+
+        // When
+        exporter.write(rows, ExportFormat.CSV, columns, out);
+
+        // Then
+        assertEquals("id,description\r\n" +
+                        "1,\"Pago, \"\"luz\"\"\"\r\n" +
+                        "-2,\"'=HYPERLINK(\"\"x\"\")\"\r\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void from_UnknownFormat_ThrowsException() {
+        // When & Then
+        assertEquals(ExportFormat.CSV, ExportFormat.from("csv"));
+        assertThrows(BusinessException.class, () -> ExportFormat.from("xml"));
+    }
+}
@@ -0,0 +1,104 @@
+package com.mybank.shared.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeIdGeneratorTest {
+
+    private static final long NOW = SnowflakeIdGenerator.EPOCH + 1_000;
+
+    @Test
+    void nextId_EncodesTimestampNodeAndSequence() {
+        // Given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(5, () -> NOW);
+
+        // When
+        long first = generator.nextId();
+        long second = generator.nextId();
+
+        // Then
+        assertEquals(1_000, first >>> 22);
+        assertEquals(5, (first >>> 12) & SnowflakeIdGenerator.MAX_NODE_ID);
+        assertEquals(0, first & 0xFFF);
+        assertEquals(1, second & 0xFFF);
+    }
+
+    @Test
+    void nextId_SequenceExhausted_BorrowsNextMillisecond() {
+        // Given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, () -> NOW);
+        for (int i = 0; i < 4096; i++) {
+            generator.nextId();
+        }
+
+        // When
+        long id = generator.nextId();
+
+        // Then
+        assertEquals(1_001, id >>> 22);
+        assertEquals(0, id & 0xFFF);
+    }
+
+    @Test
+    void nextId_ClockMovesBackwards_StaysMonotonic() {
+        // Given
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, clock::get);
+        long before = generator.nextId();
+
+        // When
+        clock.set(NOW - 500);
+        long after = generator.nextId();
+
+        // Then
+        assertTrue(after > before);
+    }
+
+    @Test
+    void nextId_ConcurrentCallers_NeverCollide() throws InterruptedException {
+        // Given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        int threads = 8;
+        int perThread = 20_000;
+
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        ids.add(generator.nextId());
+                    }
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        }
+
+        // Then
+        assertEquals(threads * perThread, ids.size());
+    }
+
+    @Test
+    void constructor_NodeOutOfRange_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(-1));
+    }
+
+    @Test
+    void nextNumber_PrependsPrefix() {
+        // Given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(0, () -> NOW);
+
+        // When & Then
+        assertEquals("TXN" + (1_000L << 22), generator.nextNumber("TXN"));
+    }
+}
@@ -0,0 +1,205 @@
+package com.mybank.shared.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mybank.shared.exception.BusinessException;
+import com.mybank.shared.exception.InsufficientFundsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.security.MessageDigest;
+import java.sql.ResultSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyStoreTest {
+
+    private static final String SCOPE = "test.create";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new IdempotencyStore(jdbcTemplate, objectMapper, 100, 60_000);
+    }
+
+    @Test
+    void execute_SameKeyTwice_RunsOperationOnceAndReplaysFromCache() {
+        // Given
+        givenStoredRows();
+        when(jdbcTemplate.update(startsWith("INSERT"), any(Object[].class))).thenReturn(1);
+        AtomicInteger executions = new AtomicInteger();
+
+        // When
+        String first = store.execute(SCOPE, 1L, "key-1", Map.of("amount", 10), String.class,
+                () -> "created-" + executions.incrementAndGet());
+        String second = store.execute(SCOPE, 1L, "key-1", Map.of("amount", 10), String.class,
+                () -> "created-" + executions.incrementAndGet());
+
+        // Then
+        assertEquals("created-1", first);
+        assertEquals("created-1", second);
+        assertEquals(1, executions.get());
+        verify(jdbcTemplate).update(startsWith("UPDATE"), any(Object[].class));
+        verify(jdbcTemplate, times(1)).query(anyString(), ArgumentMatchers.<RowMapper<Object>>any(), any(Object[].class));
+    }
+
+    @Test
+    void execute_StoredResponse_ReplaysWithoutRunningOperation() throws Exception {
+        // Given
+        Map<String, Integer> request = Map.of("amount", 10);
+        givenStoredRows(new String[]{hash(request), "\"created-before\""});
+
+        // When
+        String response = store.execute(SCOPE, 1L, "key-1", request, String.class, () -> fail("must not run"));
+
+        // Then
+        assertEquals("created-before", response);
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void execute_KeyReusedWithDifferentRequest_Throws() {
+        // Given
+        givenStoredRows(new String[]{"other-hash", "\"created-before\""});
+
+        // When
+        BusinessException exception = assertThrows(BusinessException.class, () ->
+                store.execute(SCOPE, 1L, "key-1", Map.of("amount", 10), String.class, () -> "created"));
+
+        // Then
+        assertEquals("IDEMPOTENCY_KEY_REUSED", exception.getErrorCode());
+    }
+
+    @Test
+    void execute_ConcurrentRequestStillRunning_Throws() throws Exception {
+        // Given: la otra petición reclamó la clave pero aún no guardó su respuesta
+        Map<String, Integer> request = Map.of("amount", 10);
+        givenStoredRows(null, new String[]{hash(request), null});
+        when(jdbcTemplate.update(startsWith("INSERT"), any(Object[].class))).thenReturn(0);
+
+        // When
+        BusinessException exception = assertThrows(BusinessException.class, () ->
+                store.execute(SCOPE, 1L, "key-1", request, String.class, () -> "created"));
+
+        // Then
+        assertEquals("IDEMPOTENCY_KEY_IN_PROGRESS", exception.getErrorCode());
+    }
+
+    @Test
+    void execute_OperationFails_ReleasesKey() {
+        // Given
+        givenStoredRows();
+        when(jdbcTemplate.update(startsWith("INSERT"), any(Object[].class))).thenReturn(1);
+
+        // When
+        assertThrows(BusinessException.class, () -> store.execute(SCOPE, 1L, "key-1", Map.of("amount", 10), String.class,
+                () -> {
+                    throw new BusinessException("Insufficient funds for withdrawal", "INSUFFICIENT_FUNDS", "TRANSACTION");
+                }));
+
+        // Then
+        verify(jdbcTemplate).update(startsWith("DELETE"), any(Object[].class));
+        verify(jdbcTemplate, never()).update(startsWith("UPDATE"), any(Object[].class));
+    }
+
+    @Test
+    void execute_CommittedFailure_RetryReplaysErrorWithoutInsertingAgain() {
+        // Given: un rechazo por fondos insuficientes que la transacción confirma
+        givenStoredRows();
+        when(jdbcTemplate.update(startsWith("INSERT"), any(Object[].class))).thenReturn(1);
+        AtomicInteger inserts = new AtomicInteger();
+        Supplier<String> operation = () -> {
+            inserts.incrementAndGet();
+            throw new InsufficientFundsException("Insufficient funds for withdrawal", "TRANSACTION");
+        };
+
+        // When
+        assertThrows(InsufficientFundsException.class, () ->
+                store.execute(SCOPE, 1L, "key-1", Map.of("amount", 10), String.class, InsufficientFundsException.class, operation));
+        BusinessException retried = assertThrows(BusinessException.class, () ->
+                store.execute(SCOPE, 1L, "key-1", Map.of("amount", 10), String.class, InsufficientFundsException.class, operation));
+
+        // Then
+        assertEquals(1, inserts.get());
+        assertEquals("INSUFFICIENT_FUNDS", retried.getErrorCode());
+        assertEquals("Insufficient funds for withdrawal", retried.getMessage());
+        verify(jdbcTemplate, times(1)).update(startsWith("INSERT"), any(Object[].class));
+        verify(jdbcTemplate).update(startsWith("UPDATE"), any(Object[].class));
+        verify(jdbcTemplate, never()).update(startsWith("DELETE"), any(Object[].class));
+    }
+
+    @Test
+    void execute_StoredFailure_ReplaysErrorWithoutRunningOperation() throws Exception {
+        // Given
+        Map<String, Integer> request = Map.of("amount", 10);
+        String error = "{\"message\":\"Insufficient funds\",\"errorCode\":\"INSUFFICIENT_FUNDS\",\"domain\":\"TRANSACTION\"}";
+        givenStoredRows(new String[]{hash(request), error, "true"});
+
+        // When
+        BusinessException exception = assertThrows(BusinessException.class, () ->
+                store.execute(SCOPE, 1L, "key-1", request, String.class, InsufficientFundsException.class,
+                        () -> fail("must not run")));
+
+        // Then
+        assertEquals("INSUFFICIENT_FUNDS", exception.getErrorCode());
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void execute_BlankKey_Throws() {
+        // When
+        BusinessException exception = assertThrows(BusinessException.class, () ->
+                store.execute(SCOPE, 1L, " ", Map.of(), String.class, () -> "created"));
+
+        // Then
+        assertEquals("INVALID_IDEMPOTENCY_KEY", exception.getErrorCode());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    /**
+     * Cada consulta devuelve la siguiente fila {@code [request_hash, response_body, failed]} ({@code failed}
+     * es opcional), o ninguna si es {@code null}.
+     */
+    private void givenStoredRows(String[]... rows) {
+        AtomicInteger call = new AtomicInteger();
+        when(jdbcTemplate.query(anyString(), ArgumentMatchers.<RowMapper<Object>>any(), any(Object[].class))).thenAnswer(invocation -> {
+            int index = call.getAndIncrement();
+            if (index >= rows.length || rows[index] == null) {
+                return List.of();
+            }
+            RowMapper<Object> mapper = invocation.getArgument(1);
+            ResultSet resultSet = mock(ResultSet.class);
+            when(resultSet.getString("request_hash")).thenReturn(rows[index][0]);
+            when(resultSet.getString("response_body")).thenReturn(rows[index][1]);
+            if (rows[index].length > 2) {
+                when(resultSet.getBoolean("failed")).thenReturn(Boolean.parseBoolean(rows[index][2]));
+            }
+            return List.of(mapper.mapRow(resultSet, 0));
+        });
+    }
+
+    private String hash(Object request) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request)));
+    }
+}
@@ -0,0 +1,98 @@
+package com.mybank.shared.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void tryAcquire_AllowsBurstThenReportsWaitUntilNextToken() {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, Duration.ofSeconds(1), 100, now::get);
+
+        // When
+        long first = limiter.tryAcquire("user");
+        long second = limiter.tryAcquire("user");
+        long third = limiter.tryAcquire("user");
+        long rejected = limiter.tryAcquire("user");
+
+        // Then
+        assertEquals(0, first);
+        assertEquals(0, second);
+        assertEquals(0, third);
+        assertEquals(TimeUnit.SECONDS.toNanos(1), rejected);
+    }
+
+    @Test
+    void tryAcquire_RefillsOneTokenPerInterval() {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, Duration.ofSeconds(1), 100, now::get);
+        limiter.tryAcquire("user");
+        limiter.tryAcquire("user");
+
+        // When
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1_000));
+        long afterRefill = limiter.tryAcquire("user");
+        long again = limiter.tryAcquire("user");
+
+        // Then
+        assertEquals(0, afterRefill);
+        assertTrue(again > 0);
+    }
+
+    @Test
+    void tryAcquire_KeysAreIndependent() {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, Duration.ofMinutes(1), 100, now::get);
+        limiter.tryAcquire("alice");
+
+        // When & Then
+        assertTrue(limiter.tryAcquire("alice") > 0);
+        assertEquals(0, limiter.tryAcquire("bob"));
+    }
+
+    @Test
+    void tryAcquire_ConcurrentCallers_NeverExceedCapacity() throws InterruptedException {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100, Duration.ofHours(1), 100);
+        AtomicInteger granted = new AtomicInteger();
+
+        // When
+        try (ExecutorService threads = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 1_000; i++) {
+                threads.execute(() -> {
+                    if (limiter.tryAcquire("shared") == 0) {
+                        granted.incrementAndGet();
+                    }
+                });
+            }
+        }
+
+        // Then
+        assertEquals(100, granted.get());
+    }
+
+    @Test
+    void tryAcquire_ManyKeys_BoundedByMaxKeys() {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, Duration.ofMinutes(1), 50);
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            limiter.tryAcquire("ip-" + i);
+        }
+
+        // Then
+        assertTrue(limiter.estimatedKeys() <= 100, "Kept " + limiter.estimatedKeys() + " buckets");
+    }
+}
@@ -0,0 +1,109 @@
+package com.mybank.shared.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApiRateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ApiRateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ApiRateLimitFilter(new ObjectMapper().findAndRegisterModules(), meterRegistry, true,
+                2, 60_000, 3, 60_000, 1_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_WriteBucketExhausted_Returns429WithRetryAfter() throws Exception {
+        // Given
+        authenticate(1L);
+        doFilter("POST", "/transactions");
+        doFilter("POST", "/transactions/7/process");
+
+        // When
+        MockHttpServletResponse response = doFilter("POST", "/transactions");
+
+        // Then
+        assertEquals(429, response.getStatus());
+        assertEquals("60", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("Too many requests"));
+        assertEquals(1, meterRegistry.get("mybank.api.rate.limited").tag("endpoint", "transaction_write").counter().count());
+    }
+
+    @Test
+    void doFilter_ReadAndWriteHaveSeparateBuckets() throws Exception {
+        // Given
+        authenticate(1L);
+        doFilter("POST", "/transactions");
+        doFilter("POST", "/transactions");
+
+        // When
+        MockHttpServletResponse response = doFilter("GET", "/transactions/user/1");
+
+        // Then
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void doFilter_UsersHaveSeparateBuckets() throws Exception {
+        // Given
+        authenticate(1L);
+        doFilter("POST", "/transactions");
+        doFilter("POST", "/transactions");
+
+        // When
+        authenticate(2L);
+        MockHttpServletResponse response = doFilter("POST", "/transactions");
+
+        // Then
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void doFilter_OtherPathsAndAnonymousRequests_AreNotLimited() throws Exception {
+        // When
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, doFilter("POST", "/transactions").getStatus());
+        }
+        authenticate(1L);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, doFilter("POST", "/accounts").getStatus());
+            assertEquals(200, doFilter("GET", "/transactionsummary").getStatus());
+        }
+
+        // Then
+        assertEquals(0, meterRegistry.get("mybank.api.rate.limited").tag("endpoint", "transaction_write").counter().count());
+    }
+
+    private void authenticate(Long userId) {
+        AuthenticatedUser user = new AuthenticatedUser(userId, "user-" + userId, List.of());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    private MockHttpServletResponse doFilter(String method, String path) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/v1" + path);
+        request.setContextPath("/api/v1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,53 @@
+package com.mybank.shared.security;
+
+import com.mybank.shared.dto.ApiResponse;
+import com.mybank.shared.exception.GlobalExceptionHandler;
+import com.mybank.shared.util.SecurityUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CurrentUserIdArgumentResolverTest {
+
+    private final CurrentUserIdArgumentResolver resolver = new CurrentUserIdArgumentResolver(new SecurityUtils());
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void resolveArgument_AuthenticatedUser_ReturnsUserId() {
+        // Given
+        AuthenticatedUser user = new AuthenticatedUser(42L, "user-42", List.of());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+
+        // When
+        Object result = resolver.resolveArgument(null, null, new ServletWebRequest(new MockHttpServletRequest()), null);
+
+        // Then
+        assertEquals(42L, result);
+    }
+
+    @Test
+    void resolveArgument_NoAuthenticatedUser_RespondsUnauthorized() {
+        // When
+        AuthenticationCredentialsNotFoundException exception = assertThrows(AuthenticationCredentialsNotFoundException.class,
+                () -> resolver.resolveArgument(null, null, new ServletWebRequest(new MockHttpServletRequest()), null));
+        ResponseEntity<ApiResponse<String>> response = new GlobalExceptionHandler().handleAuthenticationException(exception);
+
+        // Then
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+    }
+}
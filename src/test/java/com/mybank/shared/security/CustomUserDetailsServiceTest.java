@@ -0,0 +1,103 @@
+package com.mybank.shared.security;
+
+import com.mybank.domains.user.domain.entity.User;
+import com.mybank.domains.user.domain.event.UserSecurityChangedEvent;
+import com.mybank.domains.user.domain.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomUserDetailsServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private CustomUserDetailsService userDetailsService;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsService = new CustomUserDetailsService(userRepository, 100, 60_000);
+
+        testUser = new User();
+        testUser.setId(1L);
+        testUser.setUsername("testuser");
+        testUser.setEmail("test@example.com");
+        testUser.setPassword("encodedPassword");
+        testUser.setStatus(User.UserStatus.ACTIVE);
+        testUser.setRoles(Set.of("ROLE_USER"));
+    }
+
+    @Test
+    void loadUserByUsername_SecondCall_ServedFromCache() {
+        // Given
+        when(userRepository.findByUsernameOrEmail("testuser")).thenReturn(Optional.of(testUser));
+
+        // When
+        UserDetails first = userDetailsService.loadUserByUsername("testuser");
+        UserDetails second = userDetailsService.loadUserByUsername("testuser");
+
+        // Then
+        assertEquals("testuser", second.getUsername());
+        assertEquals("encodedPassword", second.getPassword());
+        assertNotSame(first, second);
+        verify(userRepository, times(1)).findByUsernameOrEmail("testuser");
+    }
+
+    @Test
+    void loadUserByUsername_ErasedCredentials_DoNotAffectCache() {
+        // Given
+        when(userRepository.findByUsernameOrEmail("testuser")).thenReturn(Optional.of(testUser));
+
+        // When
+        ((org.springframework.security.core.userdetails.User) userDetailsService.loadUserByUsername("testuser"))
+                .eraseCredentials();
+        UserDetails result = userDetailsService.loadUserByUsername("testuser");
+
+        // Then
+        assertEquals("encodedPassword", result.getPassword());
+    }
+
+    @Test
+    void loadUserByUsername_InactiveUser_ThrowsAndIsNotCached() {
+        // Given
+        testUser.setStatus(User.UserStatus.SUSPENDED);
+        when(userRepository.findByUsernameOrEmail("testuser")).thenReturn(Optional.of(testUser));
+
+        // When & Then
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("testuser"));
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("testuser"));
+        verify(userRepository, times(2)).findByUsernameOrEmail("testuser");
+    }
+
+    @Test
+    void onUserSecurityChanged_EvictsUsernameAndEmailEntries() {
+        // Given
+        when(userRepository.findByUsernameOrEmail("testuser")).thenReturn(Optional.of(testUser));
+        when(userRepository.findByUsernameOrEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        userDetailsService.loadUserByUsername("testuser");
+        userDetailsService.loadUserByUsername("test@example.com");
+        testUser.setRoles(Set.of("ROLE_USER", "ROLE_ADMIN"));
+
+        // When
+        userDetailsService.onUserSecurityChanged(new UserSecurityChangedEvent(1L, "testuser", "test@example.com"));
+        UserDetails result = userDetailsService.loadUserByUsername("testuser");
+        userDetailsService.loadUserByUsername("test@example.com");
+
+        // Then
+        assertEquals(2, result.getAuthorities().size());
+        verify(userRepository, times(2)).findByUsernameOrEmail("testuser");
+        verify(userRepository, times(2)).findByUsernameOrEmail("test@example.com");
+    }
+}
@@ -0,0 +1,124 @@
+package com.mybank.shared.security;
+
+import com.mybank.shared.util.SecurityUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    private static final String TEST_SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    private JwtService jwtService;
+    private TokenDenyList tokenDenyList;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", TEST_SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 86400000L);
+
+        tokenDenyList = new TokenDenyList(86400000L);
+        filter = new JwtAuthenticationFilter(jwtService, userDetailsService, tokenDenyList);
+        ReflectionTestUtils.setField(filter, "stateless", true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void statelessMode_AuthenticatesFromClaimsWithoutUserLookup() throws Exception {
+        // Given
+        String token = jwtService.generateToken("testuser", 1L, Set.of("ROLE_USER"), "ACTIVE");
+
+        // When
+        doFilter(token);
+
+        // Then
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals("testuser", authentication.getName());
+        assertTrue(authentication.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_USER")));
+        assertEquals(1L, new SecurityUtils().getCurrentUserId());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void statelessMode_TokenWithoutRoles_FallsBackToUserDetailsService() throws Exception {
+        // Given
+        String token = jwtService.generateToken("testuser", 1L);
+        when(userDetailsService.loadUserByUsername("testuser")).thenReturn(userDetails());
+
+        // When
+        doFilter(token);
+
+        // Then
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertInstanceOf(AuthenticatedUser.class, authentication.getPrincipal());
+        assertEquals(1L, ((AuthenticatedUser) authentication.getPrincipal()).getUserId());
+        verify(userDetailsService).loadUserByUsername("testuser");
+    }
+
+    @Test
+    void statelessMode_UserRevoked_RevalidatesAgainstUserDetailsService() throws Exception {
+        // Given
+        String token = jwtService.generateToken("testuser", 1L, Set.of("ROLE_USER"), "ACTIVE");
+        tokenDenyList.revokeUserTokens("testuser");
+        when(userDetailsService.loadUserByUsername("testuser")).thenReturn(userDetails());
+
+        // When
+        doFilter(token);
+
+        // Then
+        verify(userDetailsService).loadUserByUsername("testuser");
+    }
+
+    @Test
+    void revokedToken_IsNotAuthenticated() throws Exception {
+        // Given
+        String token = jwtService.generateToken("testuser", 1L, Set.of("ROLE_USER"), "ACTIVE");
+        tokenDenyList.revokeToken(jwtService.extractAllClaims(token));
+
+        // When
+        doFilter(token);
+
+        // Then
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    private void doFilter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    }
+
+    private static User userDetails() {
+        return new User("testuser", "encodedPassword", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+}
@@ -2,6 +2,7 @@ package com.mybank.shared.security;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -196,4 +197,36 @@ class JwtServiceTest {
         assertNotNull(key);
         assertTrue(key.getAlgorithm().startsWith("HmacSHA"));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void extractClaims_SameToken_VerifiedOnceAndServedFromCache() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        jwtService.bindTo(registry);
+        String token = jwtService.generateToken(testUserDetails);
+
+        // When
+        String username = jwtService.extractUsername(token);
+        boolean isValid = jwtService.isTokenValid(token, testUserDetails);
+
+        // Then
+        assertEquals("testuser", username);
+        assertTrue(isValid);
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "jwtClaims").tag("result", "miss")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "jwtClaims").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void extractClaims_TamperedToken_ThrowsAndIsNotCached() {
+        // Given
+        String token = jwtService.generateToken("testuser");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        // When & Then
+        assertThrows(Exception.class, () -> jwtService.extractUsername(tampered));
+        assertThrows(Exception.class, () -> jwtService.extractUsername(tampered));
+        assertEquals("testuser", jwtService.extractUsername(token));
+    }
+}
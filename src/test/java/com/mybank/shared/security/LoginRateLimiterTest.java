@@ -0,0 +1,54 @@
+package com.mybank.shared.security;
+
+import com.mybank.shared.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginRateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void check_UsernameExhausted_RejectsWithRetryAfter() {
+        // Given
+        LoginRateLimiter limiter = new LoginRateLimiter(meterRegistry, true, 2, 60_000, 100, 1_000, 1_000);
+        limiter.check("alice", "10.0.0.1");
+        limiter.check("ALICE ", "10.0.0.2");
+
+        // When
+        RateLimitExceededException exception = assertThrows(RateLimitExceededException.class,
+                () -> limiter.check("alice", "10.0.0.3"));
+
+        // Then
+        assertEquals("RATE_LIMIT_EXCEEDED", exception.getErrorCode());
+        assertEquals(60, exception.getRetryAfterSeconds());
+        assertEquals(1, meterRegistry.get("mybank.login.rejected").tag("key", "username").counter().count());
+        assertDoesNotThrow(() -> limiter.check("bob", "10.0.0.3"));
+    }
+
+    @Test
+    void check_IpExhausted_RejectsAnyUsername() {
+        // Given
+        LoginRateLimiter limiter = new LoginRateLimiter(meterRegistry, true, 100, 1_000, 2, 3_000, 1_000);
+        limiter.check("user-1", "10.0.0.1");
+        limiter.check("user-2", "10.0.0.1");
+
+        // When & Then
+        assertThrows(RateLimitExceededException.class, () -> limiter.check("user-3", "10.0.0.1"));
+        assertEquals(1, meterRegistry.get("mybank.login.rejected").tag("key", "ip").counter().count());
+        assertEquals(0, meterRegistry.get("mybank.login.rejected").tag("key", "username").counter().count());
+    }
+
+    @Test
+    void check_Disabled_NeverRejects() {
+        // Given
+        LoginRateLimiter limiter = new LoginRateLimiter(meterRegistry, false, 1, 60_000, 1, 60_000, 1_000);
+
+        // When & Then
+        for (int i = 0; i < 10; i++) {
+            assertDoesNotThrow(() -> limiter.check("alice", "10.0.0.1"));
+        }
+    }
+}
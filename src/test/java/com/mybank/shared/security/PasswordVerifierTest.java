@@ -0,0 +1,121 @@
+package com.mybank.shared.security;
+
+import com.mybank.shared.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PasswordVerifierTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordVerifier verifier;
+
+    @AfterEach
+    void tearDown() {
+        verifier.stop();
+    }
+
+    @Test
+    void matches_RecordsVerificationTimeByOutcome() {
+        // Given
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+        verifier = new PasswordVerifier(encoder, meterRegistry, 4, false, 2, 10, 5_000);
+        String encoded = encoder.encode("secret");
+
+        // When
+        boolean valid = verifier.matches("secret", encoded);
+        boolean invalid = verifier.matches("wrong", encoded);
+
+        // Then
+        assertTrue(valid);
+        assertFalse(invalid);
+        assertEquals(1, meterRegistry.get("mybank.password.verify").tag("outcome", "match").timer().count());
+        assertEquals(1, meterRegistry.get("mybank.password.verify").tag("outcome", "mismatch").timer().count());
+    }
+
+    @Test
+    void matches_PoolAndQueueFull_RejectsImmediately() throws Exception {
+        // Given: un hilo ocupado y una verificación en cola
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.matches(anyString(), anyString())).thenAnswer(invocation -> release.await(5, TimeUnit.SECONDS));
+        verifier = new PasswordVerifier(encoder, meterRegistry, 10, false, 1, 1, 5_000);
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> verifier.matches("a", "hash"));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> verifier.matches("b", "hash"));
+        while (meterRegistry.get("mybank.password.queue.size").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // When & Then
+        assertThrows(ServiceOverloadedException.class, () -> verifier.matches("c", "hash"));
+        assertEquals(1, meterRegistry.get("mybank.password.rejected").counter().count());
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void matches_WaitExceedsTimeout_FailsFast() {
+        // Given
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.matches(anyString(), anyString())).thenAnswer(invocation -> {
+            Thread.sleep(1_000);
+            return true;
+        });
+        verifier = new PasswordVerifier(encoder, meterRegistry, 10, false, 1, 1, 20);
+
+        // When & Then
+        ServiceOverloadedException exception = assertThrows(ServiceOverloadedException.class,
+                () -> verifier.matches("secret", "hash"));
+        assertEquals("SERVICE_OVERLOADED", exception.getErrorCode());
+    }
+
+    @Test
+    void needsRehash_OnlyWhenEnabledAndCostDiffers() {
+        // Given
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+        String cost4 = encoder.encode("secret");
+        String cost5 = new BCryptPasswordEncoder(5).encode("secret");
+        verifier = new PasswordVerifier(encoder, meterRegistry, 4, true, 1, 1, 1_000);
+        PasswordVerifier disabled = new PasswordVerifier(encoder, meterRegistry, 4, false, 1, 1, 1_000);
+
+        // When & Then
+        assertFalse(verifier.needsRehash(cost4));
+        assertTrue(verifier.needsRehash(cost5));
+        assertFalse(verifier.needsRehash("{noop}plain"));
+        assertFalse(disabled.needsRehash(cost5));
+        disabled.stop();
+    }
+
+    @Test
+    void rehashInBackground_EncodesWithConfiguredStrength() throws Exception {
+        // Given
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+        verifier = new PasswordVerifier(encoder, meterRegistry, 4, true, 1, 1, 1_000);
+        AtomicReference<String> rehashed = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+
+        // When
+        verifier.rehashInBackground("secret", encoded -> {
+            rehashed.set(encoded);
+            done.countDown();
+        });
+
+        // Then
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(rehashed.get().startsWith("$2a$04$"));
+        assertTrue(encoder.matches("secret", rehashed.get()));
+    }
+}
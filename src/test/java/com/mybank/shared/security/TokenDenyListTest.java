@@ -0,0 +1,31 @@
+package com.mybank.shared.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenDenyListTest {
+
+    private final TokenDenyList tokenDenyList = new TokenDenyList(86400000L);
+
+    @Test
+    void revokeToken_ManyLogouts_NoneIsForgottenBeforeExpiry() {
+        // Given
+        List<Claims> revoked = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            revoked.add(Jwts.claims().id("jti-" + i).subject("user-" + i).build());
+        }
+
+        // When
+        revoked.forEach(tokenDenyList::revokeToken);
+
+        // Then: un desalojo por tamaño volvería a aceptar tokens cerrados
+        assertTrue(revoked.stream().allMatch(tokenDenyList::isTokenRevoked));
+        assertFalse(tokenDenyList.isTokenRevoked(Jwts.claims().id("jti-other").build()));
+    }
+}